@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# ──────────────────────────────────────────────
+#  AppCDS training run — writes $APP_HOME/app.jsa
+#
+#  Boots LoginSystemApplication from the exploded classpath with the dev profile (H2,
+#  no external services), drives register/login/refresh/OAuth-code through smoke.sh so
+#  the request path is archived too, then stops it; the JVM dumps every loaded class on
+#  exit. Must run on the same JDK and classpath as production (see Dockerfile).
+# ──────────────────────────────────────────────
+set -euo pipefail
+
+APP_HOME=${APP_HOME:-/app}
+PORT=${CDS_TRAINING_PORT:-18080}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+JWT_SECRET=$(head -c 64 /dev/urandom | base64 -w0) \
+GOOGLE_CLIENT_ID=cds-training GOOGLE_CLIENT_SECRET=cds-training \
+APP_BASE_URL="http://localhost:$PORT" SERVER_PORT="$PORT" SPRING_PROFILES_ACTIVE=dev \
+    java -XX:ArchiveClassesAtExit="$APP_HOME/app.jsa" \
+        "@$APP_HOME/jvm.classpath" com.akash.loginsystem.LoginSystemApplication &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+for _ in 1 2 3; do
+    BASE_URL="http://localhost:$PORT" "$SCRIPT_DIR/smoke.sh" >/dev/null
+done
+
+kill -TERM $PID
+wait $PID || true   # 143 after SIGTERM is the normal outcome
+trap - EXIT
+[[ -s "$APP_HOME/app.jsa" ]] || { echo "✗ no CDS archive written" >&2; exit 1; }
+echo "✓ CDS archive: $(du -h "$APP_HOME/app.jsa" | cut -f1)"
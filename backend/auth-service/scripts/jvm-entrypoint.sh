@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# ──────────────────────────────────────────────
+#  Container entrypoint for the JVM image — picks the start mode
+#
+#    JVM_START_MODE  cds (default)    exploded classpath + the AppCDS archive from the build
+#                    plain            exploded classpath, no archive
+#                    crac-checkpoint  start, checkpoint once the context is refreshed, exit
+#                                     (needs a CRaC JDK and CAP_CHECKPOINT_RESTORE)
+#                    crac             restore from the checkpoint; falls back to cds if none
+#    CRAC_CHECKPOINT_DIR  default /crac — the image files hold resolved secrets, keep it private
+#    JAVA_OPTS       extra JVM flags
+# ──────────────────────────────────────────────
+set -euo pipefail
+
+APP_HOME=${APP_HOME:-/app}
+MAIN_CLASS=com.akash.loginsystem.LoginSystemApplication
+CLASSPATH_ARGS="@$APP_HOME/jvm.classpath"
+CDS_ARCHIVE="$APP_HOME/app.jsa"
+CRAC_DIR=${CRAC_CHECKPOINT_DIR:-/crac}
+
+cds_opts() {
+    # -Xshare:auto: a stale or foreign archive is ignored with a warning, never fatal
+    [[ -f "$CDS_ARCHIVE" ]] && echo "-XX:SharedArchiveFile=$CDS_ARCHIVE -Xshare:auto"
+}
+
+case "${JVM_START_MODE:-cds}" in
+    plain)
+        exec java ${JAVA_OPTS:-} "$CLASSPATH_ARGS" "$MAIN_CLASS" "$@"
+        ;;
+    cds)
+        exec java $(cds_opts) ${JAVA_OPTS:-} "$CLASSPATH_ARGS" "$MAIN_CLASS" "$@"
+        ;;
+    crac-checkpoint)
+        # onRefresh: before the web server and schedulers start, so nothing can reopen a
+        # connection between the pools being emptied and the checkpoint
+        exec java -XX:CRaCCheckpointTo="$CRAC_DIR" $(cds_opts) ${JAVA_OPTS:-} \
+            -Dspring.context.checkpoint=onRefresh \
+            "$CLASSPATH_ARGS" "$MAIN_CLASS" "$@"
+        ;;
+    crac)
+        if [[ -n "$(ls -A "$CRAC_DIR" 2>/dev/null)" ]]; then
+            exec java -XX:CRaCRestoreFrom="$CRAC_DIR" ${JAVA_OPTS:-}
+        fi
+        echo "No CRaC checkpoint in $CRAC_DIR — starting with AppCDS" >&2
+        exec java $(cds_opts) ${JAVA_OPTS:-} "$CLASSPATH_ARGS" "$MAIN_CLASS" "$@"
+        ;;
+    *)
+        echo "Unknown JVM_START_MODE '${JVM_START_MODE}' (cds | plain | crac | crac-checkpoint)" >&2
+        exit 2
+        ;;
+esac
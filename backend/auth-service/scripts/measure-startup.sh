@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# ──────────────────────────────────────────────
+#  Startup and first-request latency per JVM start mode
+#
+#    ./measure-startup.sh [mode ...]   default: plain cds (add crac on a CRaC JDK with a checkpoint)
+#
+#  For each mode: time from exec until /actuator/health/readiness answers, then the latency of the
+#  first register and first login on the fresh process. Uses the same environment as the
+#  container (JVM_START_MODE is set per run); PORT defaults to 8080.
+# ──────────────────────────────────────────────
+set -euo pipefail
+
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+PORT=${SERVER_PORT:-8080}
+BASE_URL="http://localhost:$PORT"
+if [[ $# -gt 0 ]]; then MODES=("$@"); else MODES=(plain cds); fi
+
+now_ms() { date +%s%3N; }
+
+post_ms() { # prints time_total in ms for a JSON POST
+    curl -s -o /dev/null -w '%{time_total}' -X POST "$BASE_URL$1" \
+        -H 'Content-Type: application/json' -d "$2" | awk '{printf "%d", $1 * 1000}'
+}
+
+printf '%-16s %12s %14s %14s\n' mode ready_ms first_register first_login
+for mode in "${MODES[@]}"; do
+    start=$(now_ms)
+    JVM_START_MODE=$mode SERVER_PORT=$PORT "$SCRIPT_DIR/jvm-entrypoint.sh" >/tmp/measure-$mode.log 2>&1 &
+    pid=$!
+    until curl -sf "$BASE_URL/actuator/health/readiness" >/dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "$mode: process exited, see /tmp/measure-$mode.log" >&2; continue 2; }
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+
+    email="measure-$mode-$(date +%s)@example.com"
+    body="{\"name\":\"Measure\",\"email\":\"$email\",\"password\":\"Measure-password-1\"}"
+    register=$(post_ms /api/v1/auth/register "$body")
+    login=$(post_ms /api/v1/auth/login "{\"email\":\"$email\",\"password\":\"Measure-password-1\"}")
+
+    printf '%-16s %12s %14s %14s\n' "$mode" "$ready" "$register" "$login"
+    kill -TERM $pid; wait $pid 2>/dev/null || true
+done
@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# ──────────────────────────────────────────────
+#  Auth API smoke test — run against a started instance (JVM jar or native binary)
+#
+#    BASE_URL   default http://localhost:8080
+#    OAUTH_CODE optional one-time code from a real Google login (the ?code= on the
+#               frontend /oauth/callback redirect); without it only the rejection path
+#               of the code exchange is checked
+#    APP_PID    optional; prints resident memory of that process at the end
+#    WAIT_SECONDS  how long to wait for /actuator/health/readiness first (default 60)
+# ──────────────────────────────────────────────
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+API="$BASE_URL/api/v1"
+EMAIL="smoke-$(date +%s)-$RANDOM@example.com"
+PASSWORD="Sm0ke-test-password"
+TMP=$(mktemp -d)
+trap 'rm -rf "$TMP"' EXIT
+
+fail() { echo "✗ $*" >&2; exit 1; }
+
+# call <name> <expected status> <curl args...> — body in $TMP/<name>.json, headers in $TMP/<name>.h
+call() {
+    local name=$1 expected=$2; shift 2
+    local status
+    status=$(curl -s -o "$TMP/$name.json" -D "$TMP/$name.h" -w '%{http_code}' "$@")
+    [[ "$status" == "$expected" ]] || fail "$name: expected $expected, got $status — $(cat "$TMP/$name.json")"
+    echo "✓ $name ($status)"
+}
+
+json_field() { sed -n "s/.*\"$2\":\"\([^\"]*\)\".*/\1/p" "$TMP/$1.json"; }
+refresh_cookie() { sed -n 's/^[Ss]et-[Cc]ookie: refreshToken=\([^;]*\);.*/\1/p' "$TMP/$1.h" | tr -d '\r'; }
+
+for _ in $(seq 1 "${WAIT_SECONDS:-60}"); do
+    curl -sf "$BASE_URL/actuator/health/readiness" >/dev/null && break
+    sleep 1
+done
+call health 200 "$BASE_URL/actuator/health"
+
+call register 201 -X POST "$API/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"name\":\"Smoke Test\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+
+call login 200 -X POST "$API/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+ACCESS_TOKEN=$(json_field login accessToken)
+REFRESH_TOKEN=$(refresh_cookie login)
+[[ -n "$ACCESS_TOKEN" && -n "$REFRESH_TOKEN" ]] || fail "login: missing access token or refresh cookie"
+
+call me 200 "$API/users/me" -H "Authorization: Bearer $ACCESS_TOKEN"
+
+call refresh 200 -X POST "$API/auth/refresh" -H "Cookie: refreshToken=$REFRESH_TOKEN"
+[[ -n "$(json_field refresh accessToken)" ]] || fail "refresh: missing access token"
+ROTATED_TOKEN=$(refresh_cookie refresh)
+# a second tab with the old cookie, within the grace window: same pair, not a logout
+call refresh-grace 200 -X POST "$API/auth/refresh" -H "Cookie: refreshToken=$REFRESH_TOKEN"
+[[ "$(refresh_cookie refresh-grace)" == "$ROTATED_TOKEN" ]] || fail "refresh-grace: expected the already-rotated pair"
+call refresh-again 200 -X POST "$API/auth/refresh" -H "Cookie: refreshToken=$ROTATED_TOKEN"
+# that pair has been rotated in turn, so the original token is a replay now
+call refresh-replay 401 -X POST "$API/auth/refresh" -H "Cookie: refreshToken=$REFRESH_TOKEN"
+
+call oauth-code-unknown 400 -X POST "$API/auth/oauth2/token" -H 'Content-Type: application/json' \
+    -d '{"code":"smoke-unknown-code"}'
+if [[ -n "${OAUTH_CODE:-}" ]]; then
+    call oauth-code 200 -X POST "$API/auth/oauth2/token" -H 'Content-Type: application/json' \
+        -d "{\"code\":\"$OAUTH_CODE\"}"
+fi
+
+if [[ -n "${APP_PID:-}" && -r "/proc/$APP_PID/status" ]]; then
+    echo "RSS: $(awk '/VmRSS/ {print $2, $3}' "/proc/$APP_PID/status")"
+fi
+echo "✓ smoke test passed against $BASE_URL"
@@ -3,13 +3,16 @@ package com.akash.loginsystem;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.config.NativeRuntimeHints;
 
 @SpringBootApplication
 @EnableConfigurationProperties(AppProperties.class)
 @EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class LoginSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,264 @@
+package com.akash.loginsystem.activity;
+
+import com.akash.loginsystem.cache.ProfileETagStore;
+import com.akash.loginsystem.cache.UserCacheInvalidator;
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.model.UserChangeType;
+import com.akash.loginsystem.outbox.UserChangeOutbox;
+import com.akash.loginsystem.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind tracking of users.last_login_at, users.last_seen_at and the Google picture.
+ *
+ * Logins, authenticated requests and OAuth logins only record a touch in a per-node map,
+ * coalesced to the latest value per user. Every 10 s the map is drained and written as JDBC
+ * batches, one round trip per app.activity.batch-size users:
+ *
+ * - activity: latest of stored and buffered value — never moves backwards, whichever node
+ *   flushes last.
+ *   Deliberately no version bump and no cache eviction: these columns are not part of the
+ *   profile and are never written by entity updates (updatable = false).
+ * - picture:  only rows whose picture really changed; the version is bumped as an entity
+ *   update would, a PROFILE_UPDATED outbox event is recorded in the same transaction, the
+ *   profile ETag is marked pending, then re-stamped after commit, and the user's second-level
+ *   cache entry is evicted on every node.
+ *
+ * Plain JDBC rather than JPQL: Hibernate evicts the whole users region on bulk statements.
+ *
+ * Memory is bounded by app.activity.max-pending-users — touches for further users are
+ * dropped (activity.dropped) until the next flush. A failed flush puts its touches back.
+ * The map is flushed once more on shutdown; a crash loses at most one interval of activity.
+ */
+@Component
+@Slf4j
+public class ActivityTracker {
+
+    /** GREATEST is NULL-respecting on H2 and NULL-ignoring on Postgres — COALESCE makes both agree. */
+    private static final String ACTIVITY_SQL =
+            "UPDATE users SET last_login_at = COALESCE(GREATEST(last_login_at, ?), last_login_at, ?), "
+                    + "last_seen_at = COALESCE(GREATEST(last_seen_at, ?), last_seen_at, ?) WHERE id = ?";
+    private static final String PICTURE_SQL =
+            "UPDATE users SET picture_url = ?, version = version + 1, updated_at = ? "
+                    + "WHERE id = ? AND (picture_url IS NULL OR picture_url <> ?)";
+
+    private final Map<UUID, Touch> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final UserChangeOutbox userChangeOutbox;
+    private final ProfileETagStore profileETagStore;
+    private final ObjectProvider<UserCacheInvalidator> cacheInvalidator;
+    private final int maxPendingUsers;
+    private final int batchSize;
+    private final Counter dropped;
+    private final Counter flushedUsers;
+    private final Timer flushTimer;
+
+    public ActivityTracker(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory,
+                           UserRepository userRepository,
+                           UserChangeOutbox userChangeOutbox,
+                           ProfileETagStore profileETagStore,
+                           ObjectProvider<UserCacheInvalidator> cacheInvalidator,
+                           AppProperties appProperties,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.userRepository = userRepository;
+        this.userChangeOutbox = userChangeOutbox;
+        this.profileETagStore = profileETagStore;
+        this.cacheInvalidator = cacheInvalidator;
+        this.maxPendingUsers = appProperties.getActivity().getMaxPendingUsers();
+        this.batchSize = appProperties.getActivity().getBatchSize();
+        Gauge.builder("activity.pending", pending, Map::size)
+                .description("Users with activity waiting for the next batched flush")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("activity.dropped")
+                .description("Touches dropped because max-pending-users was reached")
+                .register(meterRegistry);
+        this.flushedUsers = Counter.builder("activity.flushed")
+                .description("Users written by batched activity flushes")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("activity.flush")
+                .description("Duration of one batched activity flush")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(UUID userId) {
+        Instant now = Instant.now();
+        touch(userId, new Touch(now, now, null));
+    }
+
+    public void recordSeen(UUID userId) {
+        touch(userId, new Touch(null, Instant.now(), null));
+    }
+
+    /** The user's Google picture as of this login — written only if it differs from the stored one. */
+    public void recordPicture(UUID userId, String pictureUrl) {
+        touch(userId, new Touch(null, null, pictureUrl));
+    }
+
+    @Scheduled(fixedDelay = 10_000)
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushTimer.record(() -> {
+            Map<UUID, Touch> drained = drain();
+            try {
+                writeActivity(drained);
+                writePictures(drained);
+                flushedUsers.increment(drained.size());
+            } catch (DataAccessException e) {
+                log.warn("Activity flush of {} users failed, retrying next interval: {}", drained.size(), e.getMessage());
+                drained.forEach(this::touch);
+            }
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void touch(UUID userId, Touch touch) {
+        if (pending.size() >= maxPendingUsers && !pending.containsKey(userId)) {
+            dropped.increment();
+            return;
+        }
+        pending.merge(userId, touch, Touch::merge);
+    }
+
+    /** Removes entries one by one — a touch racing with the drain stays for the next flush. */
+    private Map<UUID, Touch> drain() {
+        Map<UUID, Touch> drained = new HashMap<>();
+        for (UUID userId : pending.keySet()) {
+            Touch touch = pending.remove(userId);
+            if (touch != null) {
+                drained.put(userId, touch);
+            }
+        }
+        return drained;
+    }
+
+    private void writeActivity(Map<UUID, Touch> drained) {
+        List<Map.Entry<UUID, Touch>> rows = drained.entrySet().stream()
+                .filter(e -> e.getValue().lastSeenAt() != null)
+                .toList();
+        jdbcTemplate.batchUpdate(ACTIVITY_SQL, rows, batchSize, (ps, row) -> {
+            setTimestamp(ps, 1, row.getValue().lastLoginAt());
+            setTimestamp(ps, 2, row.getValue().lastLoginAt());
+            setTimestamp(ps, 3, row.getValue().lastSeenAt());
+            setTimestamp(ps, 4, row.getValue().lastSeenAt());
+            ps.setObject(5, row.getKey());
+        });
+    }
+
+    /**
+     * One transaction: the picture UPDATEs and their outbox events commit together. The JDBC
+     * batch joins the JPA transaction — both run on the primary DataSource.
+     */
+    private void writePictures(Map<UUID, Touch> drained) {
+        List<Map.Entry<UUID, Touch>> rows = drained.entrySet().stream()
+                .filter(e -> e.getValue().pictureUrl() != null)
+                .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<User> changed = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            int[][] counts = jdbcTemplate.batchUpdate(PICTURE_SQL, rows, batchSize, (ps, row) -> {
+                ps.setString(1, row.getValue().pictureUrl());
+                setTimestamp(ps, 2, now);
+                ps.setObject(3, row.getKey());
+                ps.setString(4, row.getValue().pictureUrl());
+            });
+            List<UUID> changedIds = new ArrayList<>();
+            int i = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    // SUCCESS_NO_INFO (-2): the driver did not report a count — treat as changed
+                    if (count != 0) {
+                        changedIds.add(rows.get(i).getKey());
+                    }
+                    i++;
+                }
+            }
+            // As an entity update would at flush: no stale ETag can survive a failed post-commit SET
+            changedIds.forEach(profileETagStore::markPending);
+            // Evicted first so the snapshots are read from the rows just updated
+            changedIds.forEach(id -> entityManagerFactory.getCache().evict(User.class, id));
+            List<User> users = userRepository.findAllById(changedIds);
+            users.forEach(user -> userChangeOutbox.record(UserChangeType.PROFILE_UPDATED, user));
+            return users;
+        });
+        if (changed != null && !changed.isEmpty()) {
+            announcePictureChanges(changed);
+        }
+    }
+
+    /** What Hibernate's post-commit listeners would have done for an entity update. */
+    private void announcePictureChanges(List<User> changed) {
+        UserCacheInvalidator invalidator = cacheInvalidator.getIfAvailable();
+        for (User user : changed) {
+            profileETagStore.remember(user.getId(), user.getVersion());
+            entityManagerFactory.getCache().evict(User.class, user.getId());
+            if (invalidator != null) {
+                invalidator.publishEviction(user.getId());
+            }
+        }
+        log.info("Updated Google picture for {} users", changed.size());
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, Instant value) throws SQLException {
+        ps.setObject(index, value != null ? OffsetDateTime.ofInstant(value, ZoneOffset.UTC) : null,
+                Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+
+    /** Latest value per field; null = nothing recorded for it. */
+    private record Touch(Instant lastLoginAt, Instant lastSeenAt, String pictureUrl) {
+
+        Touch merge(Touch newer) {
+            return new Touch(max(lastLoginAt, newer.lastLoginAt), max(lastSeenAt, newer.lastSeenAt),
+                    newer.pictureUrl != null ? newer.pictureUrl : pictureUrl);
+        }
+
+        private static Instant max(Instant a, Instant b) {
+            if (a == null) {
+                return b;
+            }
+            return b == null || a.isAfter(b) ? a : b;
+        }
+    }
+}
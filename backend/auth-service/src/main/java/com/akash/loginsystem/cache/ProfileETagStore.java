@@ -0,0 +1,153 @@
+package com.akash.loginsystem.cache;
+
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Current ETag of each user's profile, shared across nodes in Redis, so a conditional
+ * GET /api/v1/users/me can be answered with 304 without loading or serializing the User.
+ *
+ * ETag = "<id>.<version>": the @Version column is bumped by every entity write and, unlike
+ * updatedAt, never collides within clock resolution or runs backwards across nodes.
+ *
+ * Writers are authoritative: when a User update is flushed, the stamp is replaced by a short-lived
+ * "pending" marker, and after commit the new stamp is SET. Readers only fill a missing stamp
+ * (SET NX), so neither a slow read of an older row nor a read between flush and commit can
+ * overwrite it. Should the post-commit SET fail, the marker expires into a miss — never a
+ * stale 304. If Redis is unavailable every conditional GET simply falls through to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileETagStore implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final String KEY_PREFIX = "user:etag:";
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Duration PENDING_TTL = Duration.ofSeconds(30);
+    private static final String PENDING = "pending";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, new PendingWriteListener());
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public static String etagOf(UUID userId, long version) {
+        return "\"" + userId + "." + version + "\"";
+    }
+
+    /** Version encoded in an ETag of this user's profile, or empty if it is not one. */
+    public static Optional<Long> versionOf(UUID userId, String etag) {
+        String prefix = "\"" + userId + ".";
+        if (etag == null || !etag.startsWith(prefix) || !etag.endsWith("\"")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(etag.substring(prefix.length(), etag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Empty while no stamp is known, or while a write is pending. */
+    public Optional<String> current(UUID userId) {
+        return circuitBreaker.execute("GET", () -> redisTemplate.opsForValue().get(KEY_PREFIX + userId))
+                .filter(etag -> !PENDING.equals(etag));
+    }
+
+    /** Records the stamp a reader observed, unless a (possibly newer) stamp is already present. */
+    public void rememberIfAbsent(UUID userId, long version) {
+        circuitBreaker.execute("SET", () ->
+                redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + userId, etagOf(userId, version), TTL));
+    }
+
+    /**
+     * Marks a write in progress, inside its transaction: readers see a miss and cannot fill in
+     * the row they read until {@link #remember} runs after commit (or the marker expires).
+     */
+    public void markPending(UUID userId) {
+        circuitBreaker.execute("SET", () -> {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, PENDING, PENDING_TTL);
+            return Boolean.TRUE;
+        });
+    }
+
+    /** Records the stamp of a committed write — authoritative, overwrites whatever is stored. */
+    public void remember(UUID userId, long version) {
+        circuitBreaker.execute("SET", () -> {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, etagOf(userId, version), TTL);
+            return Boolean.TRUE;
+        });
+    }
+
+    // ── Hibernate post-commit events ─────────────────────────────────────────
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof User user) {
+            remember(user.getId(), user.getVersion());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        circuitBreaker.execute("DEL", () -> redisTemplate.delete(KEY_PREFIX + event.getId()));
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed — drop the pending marker; the next read fills the stamp again
+        circuitBreaker.execute("DEL", () -> redisTemplate.delete(KEY_PREFIX + event.getId()));
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed — the stored stamp is still current
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == User.class;
+    }
+
+    /** Runs at flush, before commit — the post-commit listener above cannot also be this one. */
+    private final class PendingWriteListener implements PostUpdateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof User user) {
+                markPending(user.getId());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.akash.loginsystem.cache;
+
+import com.akash.loginsystem.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the per-node User second-level cache coherent across instances.
+ *
+ * After a User update/delete commits, the id is published on a Redis channel; every other
+ * node evicts that entry from its local "users" region. Messages from this node are ignored
+ * (Hibernate already refreshed the local entry). If Redis is unavailable the region's
+ * expiry (application.conf) bounds staleness.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidator
+        implements PostCommitUpdateEventListener, PostCommitDeleteEventListener, MessageListener {
+
+    public static final String CHANNEL = "cache:evict:users";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /** Publishes an eviction for users changed outside entity events (e.g. bulk JPQL updates). */
+    public void publishEviction(UUID userId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, NODE_ID + ":" + userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish user cache eviction for {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // ── Hibernate post-commit events ─────────────────────────────────────────
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publishEviction((UUID) event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publishEviction((UUID) event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed — nothing to invalidate
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed — nothing to invalidate
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == User.class;
+    }
+
+    // ── Redis subscription ───────────────────────────────────────────────────
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.startsWith(NODE_ID)) {
+            return;
+        }
+        UUID userId = UUID.fromString(body.substring(separator + 1));
+        entityManagerFactory.getCache().evict(User.class, userId);
+        log.debug("Evicted user {} from second-level cache", userId);
+    }
+}
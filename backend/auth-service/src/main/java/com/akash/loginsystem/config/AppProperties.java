@@ -4,6 +4,10 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Strongly-typed binding for the `app:` block in application.yml.
  * All secrets are injected via env vars — never hardcoded.
@@ -14,6 +18,17 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AppProperties {
 
     private final Jwt jwt = new Jwt();
+    private final Datasource datasource = new Datasource();
+    private final Redis redis = new Redis();
+    private final OAuth2 oauth2 = new OAuth2();
+    private final ProviderHttp providerHttp = new ProviderHttp();
+    private final Tokens tokens = new Tokens();
+    private final WarmUp warmUp = new WarmUp();
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private final Idempotency idempotency = new Idempotency();
+    private final Activity activity = new Activity();
+    private final Outbox outbox = new Outbox();
+    private final InternalApi internalApi = new InternalApi();
     private String frontendUrl;
     private String baseUrl;
 
@@ -23,5 +38,145 @@ public class AppProperties {
         private String secret;
         private long expiryMs;
         private long refreshExpiryMs;
+        /** A rotated refresh token used again within this window gets the pair it was rotated into. 0 = off. */
+        private Duration refreshGraceWindow = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Tokens {
+        /** Random bytes per identifier (Base64URL-encoded); 16 = 128 bits is the minimum. */
+        private int jtiEntropyBytes = 16;
+        private int refreshTokenEntropyBytes = 32;
+        private int oauthCodeEntropyBytes = 32;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        /** How long a completed response can be replayed for a retried Idempotency-Key. */
+        private Duration ttl = Duration.ofMinutes(5);
+        /** How long a key stays reserved by a request that is still running. */
+        private Duration inProgressTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Activity {
+        /** Users with unflushed last-login/last-seen touches per node; beyond this, touches are dropped. */
+        private int maxPendingUsers = 100_000;
+        /** Rows per JDBC batch when the touches are flushed. */
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        /** Record user change events and relay them to the stream; when off, nothing is written to outbox_events. */
+        private boolean enabled = true;
+        /** Redis Stream the user change events are published to. */
+        private String stream = "users:changes";
+        /** Events per relay transaction (one pipelined round trip). */
+        private int batchSize = 200;
+        /**
+         * Approximate number of entries the stream is trimmed to. Each entry carries a profile
+         * snapshot (~0.5–1 KB), so 100k entries is on the order of 100 MB of Redis memory.
+         */
+        private long streamMaxLength = 100_000;
+        /** How long a relay node holds the lease without renewing it; renewed before every batch. */
+        private Duration leaseTtl = Duration.ofSeconds(10);
+        /** Consumer groups created at startup, reading from the start of the stream. */
+        private List<String> consumerGroups = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class InternalApi {
+        /**
+         * Service credentials for the internal endpoints (POST /api/v1/users/batch), one
+         * "caller:key" entry per calling service. Empty = internal endpoints reject everything.
+         */
+        private List<String> serviceKeys = new ArrayList<>();
+        /** Most distinct ids a single batch lookup may ask for. */
+        private int maxBatchIds = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class WarmUp {
+        /** Run synthetic traffic through the hot paths before readiness reports UP. */
+        private boolean enabled = true;
+        /** Access tokens signed and verified. */
+        private int tokenIterations = 20_000;
+        /** Requests pushed through JwtAuthFilter — each one a user lookup against the database. */
+        private int filterIterations = 50;
+        /** DTO write/read round trips. */
+        private int serializationIterations = 10_000;
+        /** BCrypt encode + match pairs — each costs as much as a real login. */
+        private int passwordHashes = 4;
+        /** Redis PINGs — opens the Lettuce connection before the first real request needs it. */
+        private int redisRoundTrips = 100;
+        /** Hard cap for the whole warm-up; remaining phases are cut short. */
+        private Duration maxDuration = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class ConcurrencyLimit {
+        /** Shed requests over the adaptive in-flight limit with 503 + Retry-After. */
+        private boolean enabled = true;
+        /** Starting limit per endpoint class, before any latency has been measured. */
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        /** Weight of each new limit estimate (0..1). */
+        private double smoothing = 0.5;
+        /** The no-load RTT is re-measured every probeMultiplier * limit requests. */
+        private int probeMultiplier = 30;
+        /** The limit is recomputed once per window of completed requests. */
+        private Duration sampleWindow = Duration.ofMillis(100);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Datasource {
+        /** Size of the dedicated /api/v1/users/** pool; the auth pool uses spring.datasource.hikari. */
+        private int profilePoolSize = 5;
+        /** JDBC URLs of read replicas (same credentials as the primary). Empty = primary only. */
+        private List<String> replicaUrls = new ArrayList<>();
+        /** How long a user's reads stay on the primary after they write. */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Redis {
+        /** Consecutive failed commands that open the circuit. */
+        private int failureThreshold = 5;
+        /** How long the circuit stays open before a trial command is allowed. */
+        private Duration openDuration = Duration.ofSeconds(10);
+        /** Capacity of the in-memory fallback used while Redis is unavailable. */
+        private int fallbackMaxEntries = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class OAuth2 {
+        /** Where pending authorization requests live between the redirect and the callback. */
+        private AuthorizationRequestStore authorizationRequestStore = AuthorizationRequestStore.COOKIE;
+
+        public enum AuthorizationRequestStore { COOKIE, REDIS }
+    }
+
+    @Getter
+    @Setter
+    public static class ProviderHttp {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        /** Retries per call, on top of the first attempt. */
+        private int maxRetries = 1;
+        /** Retries allowed per request across all provider calls (0.1 = at most +10% load). */
+        private double retryBudgetRatio = 0.1;
     }
 }
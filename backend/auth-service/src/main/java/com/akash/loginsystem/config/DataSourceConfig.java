@@ -0,0 +1,114 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.datasource.PoolCheckpointRestoreLifecycle;
+import com.akash.loginsystem.datasource.RoutingDataSource;
+import com.akash.loginsystem.datasource.Workload;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection pools — replaces Spring Boot's single auto-configured pool.
+ *
+ * - auth pool    (spring.datasource.hikari.*, DB_POOL_SIZE): login, register, refresh, OAuth, everything else
+ * - profile pool (app.datasource.profile-pool-size): /api/v1/users/** only, so profile bursts
+ *   cannot starve token issuance and rotation
+ * - replica pools (app.datasource.replica-urls, optional): read-only transactions
+ *
+ * Under CRaC all of them are suspended and emptied around the checkpoint
+ * ({@link PoolCheckpointRestoreLifecycle}).
+ *
+ * Both primary pools are beans, so Spring Boot exports hikaricp_* metrics per pool
+ * (pool="auth" / "profile"); replica pools register their own (pool="replica-N").
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class DataSourceConfig {
+
+    private final AppProperties appProperties;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource authDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("auth");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource profileDataSource(HikariDataSource authDataSource) {
+        HikariConfig config = copyOf(authDataSource, "profile");
+        config.setMaximumPoolSize(appProperties.getDatasource().getProfilePoolSize());
+        if (config.getMinimumIdle() > config.getMaximumPoolSize()) {
+            config.setMinimumIdle(config.getMaximumPoolSize());
+        }
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public RoutingDataSource routingDataSource(HikariDataSource authDataSource,
+                                               HikariDataSource profileDataSource,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        List<String> urls = appProperties.getDatasource().getReplicaUrls();
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = copyOf(authDataSource, "replica-" + i);
+            config.setJdbcUrl(urls.get(i));
+            config.setReadOnly(true);
+            meterRegistry.ifAvailable(registry ->
+                    config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new HikariDataSource(config));
+        }
+        if (!replicas.isEmpty()) {
+            log.info("Read-replica routing enabled with {} replica(s)", replicas.size());
+        }
+        return new RoutingDataSource(
+                Map.of(Workload.AUTH, authDataSource, Workload.PROFILE, profileDataSource),
+                replicas);
+    }
+
+    /** The DataSource JPA sees — defers connection checkout until the routing key is known. */
+    @Bean
+    @Primary
+    public DataSource dataSource(RoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /** CRaC only (org.crac on the classpath): closes and reopens all pools around a checkpoint. */
+    @Bean
+    @ConditionalOnCheckpointRestore
+    public PoolCheckpointRestoreLifecycle poolCheckpointRestoreLifecycle(HikariDataSource authDataSource,
+                                                                         HikariDataSource profileDataSource,
+                                                                         RoutingDataSource routingDataSource) {
+        List<HikariDataSource> pools = new ArrayList<>(List.of(authDataSource, profileDataSource));
+        pools.addAll(routingDataSource.getReplicas());
+        return new PoolCheckpointRestoreLifecycle(pools);
+    }
+
+    /** Inherits every hikari setting of the auth pool (timeouts, credentials, driver properties). */
+    private static HikariConfig copyOf(HikariDataSource source, String poolName) {
+        HikariConfig config = new HikariConfig();
+        source.copyStateTo(config);
+        config.setPoolName(poolName);
+        return config;
+    }
+}
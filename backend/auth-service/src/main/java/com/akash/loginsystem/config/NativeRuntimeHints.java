@@ -0,0 +1,82 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.dto.request.LoginRequest;
+import com.akash.loginsystem.dto.request.OAuthCodeRequest;
+import com.akash.loginsystem.dto.request.RefreshRequest;
+import com.akash.loginsystem.dto.request.RegisterRequest;
+import com.akash.loginsystem.dto.request.SetPasswordRequest;
+import com.akash.loginsystem.dto.request.UpdateProfileRequest;
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.entity.id.UuidV7Generator;
+import com.akash.loginsystem.exception.GlobalExceptionHandler;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationResponseType;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+/**
+ * Reachability metadata for the native image (mvn -Pnative native:compile) that Spring AOT
+ * cannot infer from the bean graph. Entities, repositories and @RequestBody/@ResponseBody
+ * types are handled by AOT itself; this covers what is reached by name or by Java
+ * serialization. Ignored on the JVM.
+ */
+public final class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson: DTOs (Lombok-generated accessors are plain methods by now), the error body,
+        // and the legacy OAuth code JSON that OAuthTokenStore still reads.
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                RegisterRequest.class, LoginRequest.class, RefreshRequest.class, OAuthCodeRequest.class,
+                SetPasswordRequest.class, UpdateProfileRequest.class,
+                AuthResponse.class, UserSummaryResponse.class, UserResponse.class,
+                GlobalExceptionHandler.ErrorBody.class);
+        hints.reflection().registerType(
+                TypeReference.of("com.akash.loginsystem.security.oauth2.OAuthTokenStore$OAuthCodeData"),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+
+        // jjwt-api binds its implementation by class name (Keys -> KeysBridge, Jwts -> impl builders).
+        for (String type : new String[] {
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder" }) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Hibernate instantiates @IdGeneratorType implementations reflectively.
+        hints.reflection().registerType(UuidV7Generator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Cookie/Redis authorization request stores use Java serialization.
+        for (Class<?> type : new Class<?>[] {
+                OAuth2AuthorizationRequest.class, AuthorizationGrantType.class,
+                OAuth2AuthorizationResponseType.class,
+                HashMap.class, HashSet.class, LinkedHashMap.class, LinkedHashSet.class }) {
+            hints.serialization().registerType(TypeReference.of(type));
+        }
+        for (String type : new String[] {
+                "java.util.Collections$UnmodifiableCollection",
+                "java.util.Collections$UnmodifiableMap",
+                "java.util.Collections$UnmodifiableSet" }) {
+            hints.serialization().registerType(TypeReference.of(type));
+        }
+
+        // Caffeine JCache provider configuration (Hibernate second-level cache).
+        hints.resources().registerPattern("application.conf");
+    }
+}
@@ -0,0 +1,35 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.security.oauth2.CookieAuthorizationRequestRepository;
+import com.akash.loginsystem.security.oauth2.RedisAuthorizationRequestRepository;
+import com.akash.loginsystem.security.random.SecureIdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Session-free storage for pending OAuth2 authorization requests, selected by
+ * app.oauth2.authorization-request-store (OAUTH2_AUTH_REQUEST_STORE). Either way the
+ * Google callback can land on any node — no sticky sessions.
+ */
+@Configuration
+public class OAuth2AuthorizationRequestConfig {
+
+    @Bean
+    public AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository(
+            AppProperties appProperties,
+            StringRedisTemplate redisTemplate,
+            RedisCircuitBreaker circuitBreaker,
+            SecureIdGenerator idGenerator) {
+        return switch (appProperties.getOauth2().getAuthorizationRequestStore()) {
+            case COOKIE -> new CookieAuthorizationRequestRepository(
+                    appProperties.getJwt().getSecret().getBytes(StandardCharsets.UTF_8));
+            case REDIS -> new RedisAuthorizationRequestRepository(redisTemplate, circuitBreaker, idGenerator);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.akash.loginsystem.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-only JSON converter for the hot response DTOs (every login, refresh and /users/me).
+ *
+ * Each type gets an ObjectWriter resolved once at startup with its root serializer already
+ * located, so a response skips MappingJackson2HttpMessageConverter's per-call type resolution,
+ * writer configuration and serializer lookup, and streams straight into the servlet output.
+ * Uses the application ObjectMapper, so the JSON is byte-for-byte the same.
+ */
+class PrecompiledJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final Map<Class<?>, ObjectWriter> writers;
+
+    PrecompiledJsonHttpMessageConverter(ObjectMapper objectMapper, Class<?>... types) {
+        super(MediaType.APPLICATION_JSON);
+        this.writers = Arrays.stream(types).collect(Collectors.toUnmodifiableMap(
+                Function.identity(),
+                type -> objectMapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return writers.containsKey(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        writers.get(value.getClass()).writeValue(outputMessage.getBody(), value);
+    }
+}
@@ -1,17 +1,28 @@
 package com.akash.loginsystem.config;
 
+import com.akash.loginsystem.http.ProviderHttpClients;
 import com.akash.loginsystem.security.JwtAuthFilter;
+import com.akash.loginsystem.security.ServiceKeyAuthFilter;
+import com.akash.loginsystem.security.oauth2.GoogleOidcUserService;
 import com.akash.loginsystem.security.oauth2.OAuth2SuccessHandler;
 import com.akash.loginsystem.security.oauth2.OAuth2UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.client.endpoint.DefaultAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
@@ -22,12 +33,100 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final ServiceKeyAuthFilter serviceKeyAuthFilter;
     private final OAuth2UserService oAuth2UserService;
+    private final GoogleOidcUserService googleOidcUserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository;
+    private final ProviderHttpClients providerHttpClients;
+    private final AppProperties appProperties;
 
+    /**
+     * Chains are matched in @Order and each carries only what its paths need:
+     *   1. OAuth2 redirect/callback — oauth2Login, no JWT
+     *   2. Public auth API + health/info (+ h2-console in dev) — permitAll, no JWT, no OAuth2
+     *   3. Internal service API — X-Service-Key, ROLE_SERVICE, no JWT, no CORS
+     *   4. Everything else — JWT, authenticated, 401 instead of a login redirect
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain oauth2LoginChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/oauth2/**", "/login/oauth2/**")
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session ->
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+
+            // OAuth2 login — pending authorization requests are kept off the session
+            .oauth2Login(oauth2 -> oauth2
+                .authorizationEndpoint(endpoint ->
+                    endpoint.authorizationRequestRepository(authorizationRequestRepository))
+                // Code → token exchange over the pooled, instrumented provider client
+                .tokenEndpoint(token -> token.accessTokenResponseClient(accessTokenResponseClient()))
+                .userInfoEndpoint(userInfo -> userInfo
+                    .userService(oAuth2UserService)
+                    // openid scope: claims come from the locally verified ID token
+                    .oidcUserService(googleOidcUserService))
+                .successHandler(oAuth2SuccessHandler)
+                // The backend has no login page any more — failures land on the frontend's
+                .failureHandler(oAuth2FailureHandler())
+            );
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain publicChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(
+                "/api/v1/auth/register",
+                "/api/v1/auth/login",
+                "/api/v1/auth/refresh",
+                "/api/v1/auth/oauth2/token",
+                "/actuator/health/**",
+                "/actuator/info",
+                "/h2-console/**"
+            )
+            .csrf(AbstractHttpConfigurer::disable)
+            .cors(cors -> cors.configurationSource(corsConfigurationSource))
+            .sessionManagement(session ->
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
+            .anonymous(AbstractHttpConfigurer::disable)
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(3)
+    public SecurityFilterChain internalChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/api/v1/users/batch")
+            // Server-to-server only: no CORS, so browsers cannot call it cross-origin
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session ->
+                session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
+            .anonymous(AbstractHttpConfigurer::disable)
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole(ServiceKeyAuthFilter.SERVICE_ROLE))
+            .exceptionHandling(ex ->
+                ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(serviceKeyAuthFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(4)
+    public SecurityFilterChain apiChain(HttpSecurity http) throws Exception {
         http
             // Stateless — no CSRF needed; disable it
             .csrf(AbstractHttpConfigurer::disable)
@@ -38,29 +137,46 @@ public class SecurityConfig {
             // Session management: stateless JWT
             .sessionManagement(session ->
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
 
-            // Authorization rules
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers(
-                    "/api/v1/auth/**",
-                    "/login/oauth2/**",
-                    "/oauth2/**",
-                    "/actuator/health",
-                    "/actuator/info",
-                    "/h2-console/**"
-                ).permitAll()
-                .anyRequest().authenticated()
-            )
-
-            // OAuth2 login
-            .oauth2Login(oauth2 -> oauth2
-                .userInfoEndpoint(userInfo -> userInfo.userService(oAuth2UserService))
-                .successHandler(oAuth2SuccessHandler)
-            )
+            // set-password, logout, /users/**, remaining actuator endpoints
+            .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+            .exceptionHandling(ex ->
+                ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
 
             // JWT filter before Spring's username/password filter
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    /** JwtAuthFilter is a @Component; keep Boot from also running it as a servlet filter on every request. */
+    @Bean
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter filter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /** Same for ServiceKeyAuthFilter — it belongs to the internal chain only. */
+    @Bean
+    public FilterRegistrationBean<ServiceKeyAuthFilter> serviceKeyAuthFilterRegistration(ServiceKeyAuthFilter filter) {
+        FilterRegistrationBean<ServiceKeyAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    private SimpleUrlAuthenticationFailureHandler oAuth2FailureHandler() {
+        SimpleUrlAuthenticationFailureHandler handler =
+                new SimpleUrlAuthenticationFailureHandler(appProperties.getFrontendUrl() + "/login?error=oauth");
+        handler.setAllowSessionCreation(false);
+        return handler;
+    }
+
+    private DefaultAuthorizationCodeTokenResponseClient accessTokenResponseClient() {
+        DefaultAuthorizationCodeTokenResponseClient client = new DefaultAuthorizationCodeTokenResponseClient();
+        client.setRestOperations(providerHttpClients.token());
+        return client;
+    }
 }
@@ -0,0 +1,27 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.cache.UserCacheInvalidator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this node to User second-level cache evictions published by other nodes.
+ * Only active when the Hibernate second-level cache is enabled (HIBERNATE_L2_CACHE_ENABLED).
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class UserCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userCacheInvalidationContainer(RedisConnectionFactory connectionFactory,
+                                                                        UserCacheInvalidator invalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidator, new ChannelTopic(UserCacheInvalidator.CHANNEL));
+        return container;
+    }
+}
@@ -1,16 +1,34 @@
 package com.akash.loginsystem.config;
 
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Explicitly configure static resource handling to ensure /api/** routes
  * are NOT treated as static resources and instead routed to Spring MVC controllers.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+
+    /** Auth/profile DTOs go out through pre-resolved ObjectWriters, ahead of the generic Jackson converter. */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PrecompiledJsonHttpMessageConverter(objectMapper,
+                AuthResponse.class, UserSummaryResponse.class, UserResponse.class));
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Static resources only in specific directories
@@ -6,6 +6,7 @@ import com.akash.loginsystem.dto.request.RefreshRequest;
 import com.akash.loginsystem.dto.request.RegisterRequest;
 import com.akash.loginsystem.dto.request.SetPasswordRequest;
 import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.idempotency.IdempotencyStore;
 import com.akash.loginsystem.service.AuthService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,18 +25,24 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final AuthService authService;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * POST /api/v1/auth/register
      * Creates a new LOCAL user and returns tokens.
      * refreshToken is set as HttpOnly cookie, NOT in response body.
+     * A retry carrying the same Idempotency-Key and body gets the original response back.
      */
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
             @Valid @RequestBody RegisterRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletResponse response) {
-        AuthResponse authResponse = authService.register(request);
+        AuthResponse authResponse = idempotencyStore.execute("register", idempotencyKey, request,
+                () -> authService.register(request));
         setRefreshTokenCookie(response, authResponse);
         return ResponseEntity.status(HttpStatus.CREATED).body(authResponse);
     }
@@ -89,14 +96,17 @@ public class AuthController {
      *
      * refreshToken is read from HttpOnly cookie (no request body needed).
      * New refreshToken is set as HttpOnly cookie in response, NOT in response body.
+     * A retry carrying the same Idempotency-Key and cookie gets the original response back.
      */
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refresh(
             @CookieValue("refreshToken") String refreshToken,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletResponse response) {
         RefreshRequest request = new RefreshRequest();
         request.setRefreshToken(refreshToken);
-        AuthResponse authResponse = authService.refresh(request);
+        AuthResponse authResponse = idempotencyStore.execute("refresh", idempotencyKey, refreshToken,
+                () -> authService.refresh(request));
         setRefreshTokenCookie(response, authResponse);
         return ResponseEntity.ok(authResponse);
     }
@@ -108,12 +118,15 @@ public class AuthController {
      * Returns 400 if the code is invalid or expired.
      *
      * refreshToken is set as HttpOnly cookie, NOT in response body.
+     * A retry carrying the same Idempotency-Key and code gets the original response back.
      */
     @PostMapping("/oauth2/token")
     public ResponseEntity<AuthResponse> exchangeOAuthCode(
             @Valid @RequestBody OAuthCodeRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletResponse response) {
-        AuthResponse authResponse = authService.exchangeOAuthCode(request);
+        AuthResponse authResponse = idempotencyStore.execute("oauth2_token", idempotencyKey, request.getCode(),
+                () -> authService.exchangeOAuthCode(request));
         setRefreshTokenCookie(response, authResponse);
         return ResponseEntity.ok(authResponse);
     }
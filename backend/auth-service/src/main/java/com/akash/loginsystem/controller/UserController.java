@@ -1,14 +1,30 @@
 package com.akash.loginsystem.controller;
 
+import com.akash.loginsystem.cache.ProfileETagStore;
 import com.akash.loginsystem.dto.request.UpdateProfileRequest;
+import com.akash.loginsystem.dto.request.UserBatchRequest;
 import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
 import com.akash.loginsystem.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -17,27 +33,120 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /**
      * GET /api/v1/users/me
-     * Returns the full profile of the authenticated user.
+     * Returns the full profile of the authenticated user, with a strong ETag.
+     * If-None-Match matching the cached ETag → 304 without loading the user.
      */
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getMe(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<UserResponse> getMe(@AuthenticationPrincipal UserDetails userDetails,
+                                              WebRequest webRequest) {
         UUID userId = UUID.fromString(userDetails.getUsername());
-        return ResponseEntity.ok(userService.getMe(userId));
+
+        Optional<String> cachedETag = userService.cachedETag(userId);
+        if (cachedETag.isPresent() && webRequest.checkNotModified(cachedETag.get())) {
+            return null; // 304 already written
+        }
+        return withETag(userService.getMe(userId));
     }
 
     /**
      * PUT /api/v1/users/me
      * Updates editable profile fields. Null fields are ignored (partial update).
+     * If-Match (the ETag from GET) → 412 if the profile has changed since it was read.
      */
     @PutMapping("/me")
     public ResponseEntity<UserResponse> updateMe(
             @RequestBody UpdateProfileRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         UUID userId = UUID.fromString(userDetails.getUsername());
-        return ResponseEntity.ok(userService.updateMe(userId, request));
+        return withETag(userService.updateMe(userId, request, ifMatch));
+    }
+
+    /**
+     * POST /api/v1/users/batch — internal, service credentials (X-Service-Key) only.
+     * Body: { "ids": [...] }. Response: { "users": [UserSummaryResponse...], "missing": [ids] },
+     * in no particular order. Written chunk by chunk as the queries return, so a large batch
+     * is never held in memory as a whole. The id count is validated before anything is written.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void batch(@Valid @RequestBody UserBatchRequest request,
+                      @AuthenticationPrincipal String caller,
+                      HttpServletResponse response) throws IOException {
+        Set<UUID> missing = new LinkedHashSet<>(request.ids());
+        // Committed lazily by the first write — a too-large batch still gets its 400 ErrorBody
+        try (BatchWriter writer = new BatchWriter(response)) {
+            userService.streamSummaries(caller, request.ids(), chunk -> {
+                writer.users(chunk);
+                chunk.forEach(user -> missing.remove(user.id()));
+            });
+            writer.end(missing);
+        }
+    }
+
+    /** private + no-cache: browsers keep the body but revalidate with If-None-Match every time. */
+    private static ResponseEntity<UserResponse> withETag(UserResponse user) {
+        return ResponseEntity.ok()
+                .eTag(ProfileETagStore.etagOf(user.getId(), user.getVersion()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(user);
+    }
+
+    /** Streams { "users": [...], "missing": [...] }; the response is committed on the first chunk. */
+    private final class BatchWriter implements AutoCloseable {
+
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+
+        BatchWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void users(Iterable<UserSummaryResponse> chunk) {
+            try {
+                JsonGenerator json = start();
+                for (UserSummaryResponse user : chunk) {
+                    objectMapper.writeValue(json, user);
+                }
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void end(Set<UUID> missing) throws IOException {
+            JsonGenerator json = start();
+            json.writeEndArray();
+            json.writeArrayFieldStart("missing");
+            for (UUID id : missing) {
+                json.writeString(id.toString());
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+
+        private JsonGenerator start() throws IOException {
+            if (generator == null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+                generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+                // A failure mid-stream must leave the JSON truncated, not closed into a valid document
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("users");
+            }
+            return generator;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (generator != null) {
+                generator.close();
+            }
+        }
     }
 }
@@ -0,0 +1,42 @@
+package com.akash.loginsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.Lifecycle;
+
+import java.util.List;
+
+/**
+ * CRaC checkpoint/restore for every physical pool. Stopped before the checkpoint, started
+ * after restore; each pool's connections are evicted and closed, so no database socket is
+ * captured in the image. The checkpoint is taken on refresh (spring.context.checkpoint),
+ * before anything can borrow a connection again, so pool suspension is not needed — and
+ * leaving it off keeps a normal shutdown from blocking on a suspended pool.
+ *
+ * Spring Boot's own lifecycle only reaches the auth pool through the routing proxy — the
+ * profile and replica pools need this one.
+ */
+public class PoolCheckpointRestoreLifecycle implements Lifecycle {
+
+    private final List<HikariCheckpointRestoreLifecycle> pools;
+
+    public PoolCheckpointRestoreLifecycle(List<HikariDataSource> pools) {
+        this.pools = pools.stream().map(HikariCheckpointRestoreLifecycle::new).toList();
+    }
+
+    @Override
+    public void start() {
+        pools.forEach(HikariCheckpointRestoreLifecycle::start);
+    }
+
+    @Override
+    public void stop() {
+        pools.forEach(HikariCheckpointRestoreLifecycle::stop);
+    }
+
+    /** Running while any pool is — stop() must still reach the others after a partial restore. */
+    @Override
+    public boolean isRunning() {
+        return pools.stream().anyMatch(HikariCheckpointRestoreLifecycle::isRunning);
+    }
+}
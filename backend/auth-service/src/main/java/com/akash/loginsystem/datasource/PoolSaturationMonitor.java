@@ -0,0 +1,46 @@
+package com.akash.loginsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Samples each primary pool and flags saturation — every connection in use with callers
+ * queued for one. Emits a WARN log and increments db.pool.saturation{pool=…}, which the
+ * alert rule in docs/devops-readme.md fires on; hikaricp_connections_pending carries the detail.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PoolSaturationMonitor {
+
+    private final List<HikariDataSource> pools;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelay = 10_000)
+    void check() {
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean mx = pool.getHikariPoolMXBean();
+            if (mx == null) {
+                continue; // pool not started yet
+            }
+            int waiting = mx.getThreadsAwaitingConnection();
+            if (waiting > 0 && mx.getActiveConnections() >= pool.getMaximumPoolSize()) {
+                Counter.builder("db.pool.saturation")
+                        .description("Samples in which the pool was exhausted with callers waiting")
+                        .tag("pool", pool.getPoolName())
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("Connection pool '{}' saturated: {}/{} active, {} waiting",
+                        pool.getPoolName(), mx.getActiveConnections(), pool.getMaximumPoolSize(), waiting);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.akash.loginsystem.datasource;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their reads skip the replicas until replication
+ * has caught up (app.datasource.read-your-writes-window).
+ *
+ * The write marker is shared across nodes in Redis (ryw:<userId>, expiring with the
+ * window), so the guarantee holds whichever pod the load balancer picks for the next
+ * request — no sticky routing needed. A per-node copy answers this node's own follow-up
+ * requests without a round trip. If Redis cannot be asked, reads go to the primary, so an
+ * outage costs replica offload rather than freshness. A marker whose SET itself failed is
+ * known to the writing node only — the one gap left, for the length of one window.
+ *
+ * No-op when no replicas are configured.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesTracker {
+
+    private static final String KEY_PREFIX = "ryw:";
+
+    private final AppProperties appProperties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    /** userId → epoch millis until which reads must go to the primary; this node's writes only. */
+    private final Map<UUID, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public void recordWrite(UUID userId) {
+        if (!isEnabled()) {
+            return;
+        }
+        Duration window = appProperties.getDatasource().getReadYourWritesWindow();
+        primaryUntil.put(userId, System.currentTimeMillis() + window.toMillis());
+        circuitBreaker.execute("SET", () -> {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", window);
+            return Boolean.TRUE;
+        });
+    }
+
+    public boolean isWithinWindow(UUID userId) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Long until = primaryUntil.get(userId);
+        if (until != null && until > System.currentTimeMillis()) {
+            return true;
+        }
+        return circuitBreaker.execute("EXISTS", () -> redisTemplate.hasKey(KEY_PREFIX + userId))
+                .orElse(true);
+    }
+
+    /** Drops expired entries so the map only holds users inside their window. */
+    @Scheduled(fixedDelay = 30_000)
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        primaryUntil.values().removeIf(until -> until <= now);
+    }
+
+    private boolean isEnabled() {
+        return !appProperties.getDatasource().getReplicaUrls().isEmpty();
+    }
+}
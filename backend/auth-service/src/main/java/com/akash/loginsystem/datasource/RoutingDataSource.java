@@ -0,0 +1,83 @@
+package com.akash.loginsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the physical pool for each transaction:
+ * - @Transactional(readOnly = true) work goes to a read replica (round-robin), if any are configured
+ *   and the request is not pinned to the primary (read-your-writes).
+ * - Everything else goes to the primary pool of the current {@link Workload} (AUTH by default).
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag is only visible in
+ * TransactionSynchronizationManager after the transaction has begun, so the physical
+ * connection has to be fetched lazily on the first statement.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Workload> CURRENT_WORKLOAD = new ThreadLocal<>();
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public RoutingDataSource(Map<Workload, DataSource> primaryPools, List<HikariDataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+
+        Map<Object, Object> targets = new HashMap<>(primaryPools);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primaryPools.get(Workload.AUTH));
+        setLenientFallback(false);
+    }
+
+    /** Routes all reads on the current thread to the primary until {@link #clear()}. */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /** Selects the primary pool used by the current thread until {@link #clear()}. */
+    public static void useWorkload(Workload workload) {
+        CURRENT_WORKLOAD.set(workload);
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+        CURRENT_WORKLOAD.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!replicas.isEmpty()
+                && PINNED_TO_PRIMARY.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        }
+        Workload workload = CURRENT_WORKLOAD.get();
+        return workload != null ? workload : Workload.AUTH;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /** Replica pools are not Spring beans — close them with the routing DataSource. */
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
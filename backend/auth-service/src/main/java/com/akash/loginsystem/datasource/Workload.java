@@ -0,0 +1,12 @@
+package com.akash.loginsystem.datasource;
+
+/**
+ * Connection-pool bulkheads. Each workload has its own Hikari pool on the primary so a
+ * burst of profile traffic cannot exhaust the connections login/refresh depend on.
+ */
+public enum Workload {
+    /** Login, registration, token issuance/rotation, OAuth — and anything not classified. */
+    AUTH,
+    /** /api/v1/users/** — profile reads and edits (UserServiceImpl). */
+    PROFILE
+}
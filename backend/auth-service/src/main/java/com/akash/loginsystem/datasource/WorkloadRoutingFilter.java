@@ -0,0 +1,39 @@
+package com.akash.loginsystem.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Tags each request with its connection-pool {@link Workload} before the security chain
+ * runs, so the JwtAuthFilter user lookup of a profile request also stays in the profile pool.
+ * Also clears the per-thread routing state (workload, read-your-writes pin) afterwards.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadRoutingFilter extends OncePerRequestFilter {
+
+    private static final String PROFILE_PATH_PREFIX = "/api/v1/users/";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        RoutingDataSource.useWorkload(request.getRequestURI().startsWith(PROFILE_PATH_PREFIX)
+                ? Workload.PROFILE
+                : Workload.AUTH);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingDataSource.clear();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.akash.loginsystem.dto.request;
 /**
  * Request body for PUT /api/v1/users/me.
  * All fields are optional — null values leave the existing data unchanged.
+ * version: the profile version the client last read (UserResponse.version). When present,
+ * the update is rejected with 409 if the profile has changed since.
  */
 public record UpdateProfileRequest(
     String name,
@@ -12,5 +14,6 @@ public record UpdateProfileRequest(
     String city,
     String state,
     String zipCode,
-    String country
+    String country,
+    Long version
 ) {}
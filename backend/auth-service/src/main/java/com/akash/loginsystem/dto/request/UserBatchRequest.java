@@ -0,0 +1,13 @@
+package com.akash.loginsystem.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Body for POST /api/v1/users/batch — at most app.internal-api.max-batch-ids ids. */
+public record UserBatchRequest(
+    @NotEmpty(message = "At least one id is required")
+    List<@NotNull(message = "Ids must not be null") UUID> ids
+) {}
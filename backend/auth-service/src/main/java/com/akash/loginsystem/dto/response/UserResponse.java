@@ -24,6 +24,7 @@ public class UserResponse {
     private String state;
     private String zipCode;
     private String country;
+    private long version;
 
     public static UserResponse from(User user) {
         return UserResponse.builder()
@@ -40,6 +41,7 @@ public class UserResponse {
                 .state(user.getState())
                 .zipCode(user.getZipCode())
                 .country(user.getCountry())
+                .version(user.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,48 @@
+package com.akash.loginsystem.entity;
+
+import com.akash.loginsystem.model.UserChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A user change waiting to be published to the user change stream. Written in the same
+ * transaction as the change itself and deleted by OutboxRelay once published.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    /** Insertion order — the relay publishes in this order. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Not a foreign key: events must survive the user row. */
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserChangeType type;
+
+    /** users.version after the change — null for events that do not change the row (sign-out). */
+    @Column
+    private Long userVersion;
+
+    /** Profile snapshot after the change as JSON (UserResponse); null when there is none. */
+    @Column(length = 8192)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -1,16 +1,24 @@
 package com.akash.loginsystem.entity;
 
+import com.akash.loginsystem.entity.id.UuidV7;
 import com.akash.loginsystem.model.AuthProvider;
 import com.akash.loginsystem.model.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@DynamicUpdate
 @Table(name = "users",
         uniqueConstraints = @UniqueConstraint(columnNames = "email"))
 @Getter
@@ -21,7 +29,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -80,6 +88,26 @@ public class User {
     @Column
     private String country;
 
+    /**
+     * Set on insert, then only ever written by ActivityTracker's batched flushes — never by
+     * entity updates, so a login does not bump the version or evict the cached profile.
+     */
+    @Column(updatable = false)
+    private Instant lastLoginAt;
+
+    /** Last login, refresh or authenticated request; written like lastLoginAt. */
+    @Column(updatable = false)
+    private Instant lastSeenAt;
+
+    /**
+     * Optimistic-lock version. Every UPDATE is guarded by it, and profile edits can pass the
+     * version they read so concurrent edits are rejected instead of silently overwritten.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
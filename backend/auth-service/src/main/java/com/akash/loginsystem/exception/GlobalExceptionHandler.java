@@ -3,6 +3,7 @@ package com.akash.loginsystem.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +49,43 @@ public class GlobalExceptionHandler {
         return body(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(ProfileVersionConflictException.class)
+    public ResponseEntity<ErrorBody> handleProfileVersionConflict(ProfileVersionConflictException ex) {
+        return body(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(ProfilePreconditionFailedException.class)
+    public ResponseEntity<ErrorBody> handleProfilePreconditionFailed(ProfilePreconditionFailedException ex) {
+        return body(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    @ExceptionHandler(UserBatchTooLargeException.class)
+    public ResponseEntity<ErrorBody> handleBatchTooLarge(UserBatchTooLargeException ex) {
+        return body(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<ErrorBody> handleIdempotencyKeyInUse(IdempotencyKeyInUseException ex) {
+        return body(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorBody> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return body(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotentSessionEndedException.class)
+    public ResponseEntity<ErrorBody> handleIdempotentSessionEnded(IdempotentSessionEndedException ex) {
+        return body(HttpStatus.UNAUTHORIZED, ex.getMessage());
+    }
+
+    /** Concurrent write detected by the @Version guard at flush time. */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorBody> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Optimistic lock conflict: {}", ex.getMessage());
+        return body(HttpStatus.CONFLICT, new ProfileVersionConflictException().getMessage());
+    }
+
     /** Bean-validation failures — returns field-level error map. */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorBody> handleValidation(MethodArgumentNotValidException ex) {
@@ -0,0 +1,11 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when a request arrives with an Idempotency-Key whose first request is still being
+ * processed. The client should retry shortly and will then receive the stored response.
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException() {
+        super("A request with this Idempotency-Key is still in progress. Retry shortly.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when an Idempotency-Key is reused for a different request (other body, token or
+ * code) — the stored response belongs to the original request only.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException() {
+        super("Idempotency-Key was already used for a different request");
+    }
+}
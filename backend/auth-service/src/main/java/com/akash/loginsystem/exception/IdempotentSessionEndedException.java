@@ -0,0 +1,12 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when a retried Idempotency-Key would replay tokens whose session has since ended —
+ * the refresh token was rotated, revoked by logout, or replaced by a newer login. The client
+ * must sign in again (or refresh with its current cookie).
+ */
+public class IdempotentSessionEndedException extends RuntimeException {
+    public IdempotentSessionEndedException() {
+        super("The session created by this request has ended. Sign in again.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when PUT /api/v1/users/me carries an If-Match header that does not match the
+ * profile's current ETag. The client should re-read the profile and retry.
+ */
+public class ProfilePreconditionFailedException extends RuntimeException {
+    public ProfilePreconditionFailedException() {
+        super("Profile does not match If-Match. Reload and try again.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when a profile update was based on a stale version — another request
+ * modified the user in between. The client should re-read the profile and retry.
+ */
+public class ProfileVersionConflictException extends RuntimeException {
+    public ProfileVersionConflictException() {
+        super("Profile was modified by another request. Reload and try again.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.akash.loginsystem.exception;
+
+/**
+ * Thrown when POST /api/v1/users/batch asks for more ids than app.internal-api.max-batch-ids.
+ * The caller should split the request.
+ */
+public class UserBatchTooLargeException extends RuntimeException {
+    public UserBatchTooLargeException(int max) {
+        super("At most " + max + " ids per batch request.");
+    }
+}
@@ -0,0 +1,75 @@
+package com.akash.loginsystem.http;
+
+import com.akash.loginsystem.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.List;
+
+/**
+ * Outbound HTTP for OAuth provider calls (token exchange, userinfo, JWKS).
+ *
+ * All endpoints share one JDK HttpClient: pooled keep-alive connections, HTTP/2 negotiated
+ * via ALPN (HTTP/1.1 fallback), explicit connect/read timeouts, and one retry budget. Each
+ * endpoint gets its own RestTemplate so latency is tagged per endpoint.
+ */
+@Component
+public class ProviderHttpClients {
+
+    private final RestTemplate token;
+    private final RestTemplate userInfo;
+    private final RestTemplate jwks;
+
+    public ProviderHttpClients(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.ProviderHttp config = appProperties.getProviderHttp();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(config.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(config.getReadTimeout());
+        RetryBudget budget = new RetryBudget(config.getRetryBudgetRatio(), 10);
+
+        // Converters and error handling as in Spring Security's default clients
+        this.token = new RestTemplate(List.of(
+                new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter()));
+        this.token.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        this.userInfo = new RestTemplate();
+        this.userInfo.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        this.jwks = new RestTemplate();
+
+        instrument(token, "token", requestFactory, config, budget, meterRegistry);
+        instrument(userInfo, "userinfo", requestFactory, config, budget, meterRegistry);
+        instrument(jwks, "jwks", requestFactory, config, budget, meterRegistry);
+    }
+
+    /** Authorization code → access token exchange. */
+    public RestTemplate token() {
+        return token;
+    }
+
+    public RestTemplate userInfo() {
+        return userInfo;
+    }
+
+    public RestTemplate jwks() {
+        return jwks;
+    }
+
+    private static void instrument(RestTemplate restTemplate, String endpoint,
+                                   JdkClientHttpRequestFactory requestFactory,
+                                   AppProperties.ProviderHttp config, RetryBudget budget,
+                                   MeterRegistry meterRegistry) {
+        restTemplate.setRequestFactory(requestFactory);
+        restTemplate.setInterceptors(List.of(
+                new TimingInterceptor(endpoint, meterRegistry),
+                new RetryInterceptor(endpoint, config.getMaxRetries(), budget, meterRegistry)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.akash.loginsystem.http;
+
+/**
+ * Token-bucket retry budget: every request deposits {@code ratio} tokens (capped at
+ * {@code maxTokens}), every retry spends one. Retries therefore add at most ~ratio extra load
+ * while the provider is failing — a Google brownout cannot be amplified into a retry storm.
+ */
+public final class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package com.akash.loginsystem.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+
+/**
+ * Retries failed provider calls within a shared {@link RetryBudget}.
+ *
+ * GET requests are retried on I/O errors, 429 and 5xx. Other methods (the token exchange POST
+ * carries a single-use authorization code) are only retried when the connection could not be
+ * established, i.e. the request never reached the provider.
+ *
+ * Must be the last interceptor: a retry re-runs the remaining execution chain.
+ */
+@Slf4j
+class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final long BACKOFF_MS = 50;
+
+    private final String endpoint;
+    private final int maxRetries;
+    private final RetryBudget budget;
+    private final Counter retries;
+    private final Counter budgetExhausted;
+
+    RetryInterceptor(String endpoint, int maxRetries, RetryBudget budget, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.maxRetries = maxRetries;
+        this.budget = budget;
+        this.retries = Counter.builder("oauth.provider.retries")
+                .tag("endpoint", endpoint)
+                .tag("result", "attempted")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("oauth.provider.retries")
+                .tag("endpoint", endpoint)
+                .tag("result", "budget_exhausted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        budget.recordRequest();
+        boolean idempotent = request.getMethod() == HttpMethod.GET;
+        for (int attempt = 0; ; attempt++) {
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                boolean notSent = e instanceof ConnectException || e instanceof HttpConnectTimeoutException;
+                if ((idempotent || notSent) && canRetry(attempt)) {
+                    log.debug("Retrying {} call after {}", endpoint, e.toString());
+                    continue;
+                }
+                throw e;
+            }
+            int status = response.getStatusCode().value();
+            if (idempotent && (status == 429 || status >= 500) && canRetry(attempt)) {
+                response.close();
+                log.debug("Retrying {} call after HTTP {}", endpoint, status);
+                continue;
+            }
+            return response;
+        }
+    }
+
+    private boolean canRetry(int attempt) {
+        if (attempt >= maxRetries) {
+            return false;
+        }
+        if (!budget.tryAcquireRetry()) {
+            budgetExhausted.increment();
+            return false;
+        }
+        retries.increment();
+        try {
+            Thread.sleep(BACKOFF_MS * (attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.akash.loginsystem.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records oauth.provider.request{endpoint, outcome} as a percentile histogram, retries
+ * included — the latency the login flow actually waits for.
+ */
+class TimingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String endpoint;
+    private final MeterRegistry meterRegistry;
+
+    TimingInterceptor(String endpoint, MeterRegistry meterRegistry) {
+        this.endpoint = endpoint;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            outcome = status >= 500 ? "SERVER_ERROR" : status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+            return response;
+        } finally {
+            sample.stop(Timer.builder("oauth.provider.request")
+                    .description("Outbound calls to the OAuth provider")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.akash.loginsystem.idempotency;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.datasource.RoutingDataSource;
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.exception.IdempotencyKeyInUseException;
+import com.akash.loginsystem.exception.IdempotencyKeyMismatchException;
+import com.akash.loginsystem.exception.IdempotentSessionEndedException;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.repository.RefreshTokenRepository;
+import com.akash.loginsystem.security.AuthResponseCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for the auth endpoints a flaky mobile network retries: register,
+ * refresh and the OAuth code exchange. The first request with a key runs; a retry with the
+ * same key and the same request gets the stored response back without redoing BCrypt, a token
+ * rotation or a code consumption — all of which would make the retry fail.
+ *
+ * Redis entry per (endpoint, key), with the key itself SHA-256 hashed:
+ *   state(1) fingerprint(32) [AuthResponse, binary codec — only once completed]
+ * The fingerprint is an HMAC (key derived from JWT_SECRET) of the request body, refresh token
+ * or code, so a replay is only served to a client that holds the same credential, and Redis
+ * never sees a plain hash of a password or token.
+ *
+ * - key unknown        → reserved for app.idempotency.in-progress-ttl (SET NX), request runs,
+ *                        response stored for app.idempotency.ttl; on failure — of the request
+ *                        or of storing its response — the key is released
+ * - key in progress    → 409, retry shortly
+ * - key completed      → stored response replayed, while its refresh token is still the live
+ *                        session; once rotated, revoked or replaced → 401 and the entry is dropped
+ * - other fingerprint  → 422, the key belongs to a different request
+ *
+ * Only successful responses are stored; errors are cheap to reproduce and may be transient.
+ * Without the header, or while Redis is unavailable, requests simply run.
+ * Counts idempotency.requests{endpoint, outcome}.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final byte IN_PROGRESS = 0;
+    private static final byte COMPLETED = 1;
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AppProperties.Idempotency config;
+    private final SecretKeySpec fingerprintKey;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            RedisCircuitBreaker circuitBreaker,
+                            RefreshTokenRepository refreshTokenRepository,
+                            ObjectMapper objectMapper,
+                            AppProperties appProperties,
+                            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.config = appProperties.getIdempotency();
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update("idempotency-fingerprint:".getBytes(StandardCharsets.UTF_8));
+            byte[] secret = Decoders.BASE64.decode(appProperties.getJwt().getSecret());
+            this.fingerprintKey = new SecretKeySpec(sha256.digest(secret), "HmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * Runs {@code work} once per (endpoint, idempotencyKey). {@code request} is what makes two
+     * requests "the same" — the body, refresh token or code.
+     */
+    public AuthResponse execute(String endpoint, String idempotencyKey, Object request,
+                                Supplier<AuthResponse> work) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return work.get();
+        }
+        byte[] key = key(endpoint, idempotencyKey);
+        byte[] fingerprint = fingerprint(endpoint, request);
+
+        Optional<Boolean> reserved = circuitBreaker.execute("SET", () -> redisTemplate.execute(
+                (RedisCallback<Boolean>) connection -> connection.stringCommands().set(key,
+                        entry(IN_PROGRESS, fingerprint, null),
+                        Expiration.from(config.getInProgressTtl()),
+                        RedisStringCommands.SetOption.ifAbsent())));
+        if (reserved.isEmpty()) {
+            count(endpoint, "bypassed");
+            return work.get();
+        }
+        if (!reserved.get()) {
+            return replay(endpoint, key, fingerprint).orElseGet(() -> {
+                count(endpoint, "bypassed");
+                return work.get();
+            });
+        }
+
+        count(endpoint, "executed");
+        AuthResponse response;
+        try {
+            response = work.get();
+        } catch (RuntimeException | Error e) {
+            delete(key);
+            throw e;
+        }
+        byte[] completed = entry(COMPLETED, fingerprint, AuthResponseCodec.encode(response));
+        boolean recorded = circuitBreaker.execute("SET", () -> redisTemplate.execute(
+                (RedisCallback<Boolean>) connection -> connection.stringCommands().set(key, completed,
+                        Expiration.from(config.getTtl()), RedisStringCommands.SetOption.upsert())))
+                .orElse(false);
+        if (!recorded) {
+            // Left IN_PROGRESS, every retry would get 409 until the reservation expires
+            count(endpoint, "unrecorded");
+            delete(key);
+        }
+        return response;
+    }
+
+    /**
+     * Empty when the entry vanished (expired) or cannot be read — the request then just runs.
+     * A stored pair whose refresh token is no longer live (rotated, logged out, superseded by a
+     * newer login) is not replayed: its access token would outlive the session it belonged to.
+     */
+    private Optional<AuthResponse> replay(String endpoint, byte[] key, byte[] fingerprint) {
+        byte[] existing = circuitBreaker.execute("GET", () -> redisTemplate.execute(
+                (RedisCallback<byte[]>) connection -> connection.stringCommands().get(key)))
+                .orElse(null);
+        if (existing == null || existing.length < 1 + FINGERPRINT_LENGTH) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(fingerprint, Arrays.copyOfRange(existing, 1, 1 + FINGERPRINT_LENGTH))) {
+            count(endpoint, "mismatch");
+            throw new IdempotencyKeyMismatchException();
+        }
+        if (existing[0] == IN_PROGRESS) {
+            count(endpoint, "in_progress");
+            throw new IdempotencyKeyInUseException();
+        }
+        AuthResponse response;
+        try {
+            response = AuthResponseCodec.decode(Arrays.copyOfRange(existing, 1 + FINGERPRINT_LENGTH, existing.length));
+        } catch (IOException e) {
+            log.error("Failed to decode stored idempotent response for {}", endpoint, e);
+            return Optional.empty();
+        }
+        if (response.getRefreshToken() != null) {
+            // A retry may follow the original by milliseconds — a lagging replica would not have the token yet.
+            // The pin is cleared by WorkloadRoutingFilter at the end of the request.
+            RoutingDataSource.pinToPrimary();
+            if (!refreshTokenRepository.existsByToken(response.getRefreshToken())) {
+                count(endpoint, "revoked");
+                delete(key);
+                throw new IdempotentSessionEndedException();
+            }
+        }
+        count(endpoint, "replayed");
+        return Optional.of(response);
+    }
+
+    private void delete(byte[] key) {
+        circuitBreaker.execute("DEL", () -> redisTemplate.execute(
+                (RedisCallback<Long>) connection -> connection.keyCommands().del(key)));
+    }
+
+    private byte[] fingerprint(String endpoint, Object request) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            mac.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(objectMapper.writeValueAsBytes(request));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint " + endpoint + " request", e);
+        }
+    }
+
+    private static byte[] entry(byte state, byte[] fingerprint, byte[] response) {
+        int responseLength = response != null ? response.length : 0;
+        byte[] entry = new byte[1 + FINGERPRINT_LENGTH + responseLength];
+        entry[0] = state;
+        System.arraycopy(fingerprint, 0, entry, 1, FINGERPRINT_LENGTH);
+        if (response != null) {
+            System.arraycopy(response, 0, entry, 1 + FINGERPRINT_LENGTH, responseLength);
+        }
+        return entry;
+    }
+
+    private static byte[] key(String endpoint, String idempotencyKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+            return (KEY_PREFIX + endpoint + ":" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest))
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private void count(String endpoint, String outcome) {
+        Counter.builder("idempotency.requests")
+                .description("Idempotency-Key requests by outcome")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
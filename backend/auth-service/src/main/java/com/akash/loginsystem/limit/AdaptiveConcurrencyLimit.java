@@ -0,0 +1,140 @@
+package com.akash.loginsystem.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-based concurrency limit in the style of TCP Vegas.
+ *
+ * The lowest RTT seen is taken as the no-load cost of a request. Once per sample window the
+ * window's average RTT gives an estimate of how many admitted requests are queueing rather
+ * than being worked on:
+ *
+ *   queue = limit * (1 - noLoadRtt / rtt)
+ *
+ * With L = log10(limit): queue <= L grows the limit by 6L (nothing is waiting), queue < 3L
+ * grows it by L, queue > 6L shrinks it by L, and in between it holds. The limit therefore
+ * settles a few requests above what the service can work on in parallel — CPU for BCrypt, the
+ * pool for DB-bound endpoints — and the queue stays short instead of absorbing the overload.
+ * It only grows while at least half of it is in use, so an idle service does not drift to
+ * maxLimit.
+ *
+ * The no-load RTT is re-measured every probeMultiplier * limit samples, so it can follow a
+ * service that has become slower for good (bigger tables, a new hash cost). The probe waits for
+ * a lightly loaded window: a minimum taken mid-overload would include queueing, read as "no
+ * queue" and ratchet the limit up.
+ *
+ * Admission is a lock-free CAS on the in-flight counter; the window bookkeeping is synchronized
+ * and touched once per completed request.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeMultiplier;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private long noLoadRttNanos;
+    private long samplesSinceProbe;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double smoothing, int probeMultiplier, long windowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeMultiplier = probeMultiplier;
+        this.windowNanos = windowNanos;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /** Admits the request if fewer than {@link #getLimit()} are in flight; pair with {@link #release}. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request. Only pass {@code sample = true} for requests that completed
+     * normally — errors are often fast and would read as "the service got quicker".
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(rttNanos, inFlightAtCompletion, System.nanoTime());
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion, long now) {
+        if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+            noLoadRttNanos = rttNanos;
+        }
+        if (windowCount == 0) {
+            windowStart = now;
+        }
+        windowRttSum += rttNanos;
+        windowCount++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        double rtt = (double) windowRttSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        samplesSinceProbe += windowCount;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+        update(rtt, maxInFlight);
+        if (samplesSinceProbe > (long) probeMultiplier * limit && maxInFlight < estimatedLimit / 2) {
+            samplesSinceProbe = 0;
+            noLoadRttNanos = 0; // the next sample starts a fresh minimum
+        }
+    }
+
+    private void update(double rtt, int maxInFlight) {
+        double queue = Math.ceil(estimatedLimit * (1 - noLoadRttNanos / rtt));
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double newLimit;
+        if (queue > 6 * step) {
+            newLimit = estimatedLimit - step;
+        } else if (maxInFlight < estimatedLimit / 2) {
+            return; // app-limited — a short queue says nothing about a higher limit
+        } else if (queue <= step) {
+            newLimit = estimatedLimit + 6 * step;
+        } else if (queue < 3 * step) {
+            newLimit = estimatedLimit + step;
+        } else {
+            return;
+        }
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
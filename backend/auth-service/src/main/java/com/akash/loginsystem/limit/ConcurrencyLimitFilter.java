@@ -0,0 +1,103 @@
+package com.akash.loginsystem.limit;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.exception.GlobalExceptionHandler.ErrorBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive load shedding in front of the auth and profile API. Each {@link EndpointClass} has
+ * its own {@link AdaptiveConcurrencyLimit}; a request over the limit gets an immediate 503 with
+ * Retry-After instead of waiting in Tomcat's queue, so what is admitted still finishes in time
+ * and goodput holds past saturation instead of collapsing into client timeouts and retries.
+ *
+ * Runs before the security chain — a shed request costs no JWT parsing or user lookup.
+ * Exports http.concurrency.limit, http.concurrency.inflight and http.concurrency.rejected,
+ * each tagged endpoint=credentials|tokens|profile.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AppProperties.ConcurrencyLimit config;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(AppProperties appProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = appProperties.getConcurrencyLimit();
+        this.objectMapper = objectMapper;
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                    config.getSmoothing(), config.getProbeMultiplier(), config.getSampleWindow().toNanos());
+            limits.put(endpoint, limit);
+            Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("endpoint", endpoint.tag())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("endpoint", endpoint.tag())
+                    .register(meterRegistry);
+            rejections.put(endpoint, Counter.builder("http.concurrency.rejected")
+                    .description("Requests shed with 503 because the concurrency limit was reached")
+                    .tag("endpoint", endpoint.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || EndpointClass.of(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpoint = EndpointClass.of(request.getRequestURI());
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        if (!limit.tryAcquire()) {
+            rejections.get(endpoint).increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            limit.release(System.nanoTime() - start, completed && response.getStatus() < 500);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(config.getRetryAfter().toSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorBody(status.value(), "Server is busy, please retry shortly", Instant.now(), null));
+    }
+}
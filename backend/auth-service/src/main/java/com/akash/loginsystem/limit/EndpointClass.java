@@ -0,0 +1,44 @@
+package com.akash.loginsystem.limit;
+
+/**
+ * Endpoint classes with their own adaptive concurrency limit. Each has a different cost
+ * profile, so a burst on one cannot push the others' limits down. Anything unclassified
+ * (health, OAuth2 redirects, static resources) is never limited.
+ */
+public enum EndpointClass {
+    /** login, register, set-password — dominated by BCrypt on the request thread. */
+    CREDENTIALS("credentials"),
+    /** refresh, OAuth code exchange, logout — a few short queries on the auth pool. */
+    TOKENS("tokens"),
+    /** /api/v1/users/** — profile reads and edits on the profile pool. */
+    PROFILE("profile");
+
+    private static final String AUTH_PREFIX = "/api/v1/auth/";
+    private static final String PROFILE_PREFIX = "/api/v1/users/";
+
+    /** Metric tag value; fixed here rather than derived from name() under the default locale. */
+    private final String tag;
+
+    EndpointClass(String tag) {
+        this.tag = tag;
+    }
+
+    /** Classifies a request URI; null when the request is not limited. */
+    public static EndpointClass of(String uri) {
+        if (uri.startsWith(PROFILE_PREFIX)) {
+            return PROFILE;
+        }
+        if (!uri.startsWith(AUTH_PREFIX)) {
+            return null;
+        }
+        return switch (uri.substring(AUTH_PREFIX.length())) {
+            case "login", "register", "set-password" -> CREDENTIALS;
+            case "refresh", "oauth2/token", "logout" -> TOKENS;
+            default -> null;
+        };
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,67 @@
+package com.akash.loginsystem.lookup;
+
+import com.akash.loginsystem.datasource.RoutingDataSource;
+import com.akash.loginsystem.entity.RefreshToken;
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.repository.RefreshTokenRepository;
+import com.akash.loginsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The hot lookups, deduplicated across concurrent requests with {@link SingleFlight}. A page
+ * that fans out N parallel calls with one bearer token costs one user query instead of N;
+ * double-submitted logins and refreshes from several tabs collapse the same way.
+ *
+ * Callers that joined another request's lookup get an entity loaded in that request's
+ * persistence context, i.e. detached from their own: read it, never modify it, and use
+ * getReferenceById to point an association at it. Call these at the start of a transaction,
+ * before it has written anything the lookup could see.
+ *
+ * Lookups that must read the primary (read-write transaction, or a read-your-writes pin) are
+ * never served by one that may have gone to a replica — the routing is part of the key.
+ */
+@Component
+public class CoalescedLookups {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SingleFlight<Key<UUID>, Optional<User>> usersById;
+    private final SingleFlight<Key<String>, Optional<User>> usersByEmail;
+    private final SingleFlight<Key<String>, Optional<RefreshToken>> refreshTokens;
+
+    public CoalescedLookups(UserRepository userRepository,
+                            RefreshTokenRepository refreshTokenRepository,
+                            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usersById = new SingleFlight<>("user_id", meterRegistry);
+        this.usersByEmail = new SingleFlight<>("user_email", meterRegistry);
+        this.refreshTokens = new SingleFlight<>("refresh_token", meterRegistry);
+    }
+
+    public Optional<User> findUserById(UUID id) {
+        return usersById.execute(Key.of(id), () -> userRepository.findById(id));
+    }
+
+    /** Expects the normalised (lower-case) email. */
+    public Optional<User> findUserByEmail(String email) {
+        return usersByEmail.execute(Key.of(email), () -> userRepository.findByEmail(email));
+    }
+
+    /** The token with its user already loaded, so callers never touch another request's lazy proxy. */
+    public Optional<RefreshToken> findRefreshToken(String token) {
+        return refreshTokens.execute(Key.of(token), () -> refreshTokenRepository.findByTokenWithUser(token));
+    }
+
+    private record Key<T>(T value, boolean primary) {
+        static <T> Key<T> of(T value) {
+            return new Key<>(value, RoutingDataSource.isPinnedToPrimary()
+                    || !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        }
+    }
+}
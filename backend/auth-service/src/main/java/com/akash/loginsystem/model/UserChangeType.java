@@ -0,0 +1,11 @@
+package com.akash.loginsystem.model;
+
+/** What happened to a user — the type of each event on the user change stream. */
+public enum UserChangeType {
+    REGISTERED,
+    GOOGLE_CREATED,
+    GOOGLE_LINKED,
+    PROFILE_UPDATED,
+    PASSWORD_SET,
+    SIGNED_OUT
+}
@@ -0,0 +1,189 @@
+package com.akash.loginsystem.outbox;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.entity.OutboxEvent;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Publishes committed outbox events to the user change stream (app.outbox.stream, a Redis
+ * Stream) and deletes them once Redis has accepted them.
+ *
+ * - One relay at a time: a node publishes only while it holds the Redis lease
+ *   (outbox:relay:lease). The lease is renewed right before each batch is sent, so a relay
+ *   slowed down past app.outbox.lease-ttl stops instead of publishing alongside its successor.
+ *   With a single publisher draining in outbox id order, the stream preserves the order in
+ *   which each user's changes were written.
+ * - At-least-once: events are deleted only after their XADDs succeeded; a crash in between
+ *   publishes them again. Consumers dedupe on eventId, or apply a change only if its
+ *   version is newer than the one they hold.
+ * - Consumer offsets are Redis consumer groups (XREADGROUP / XACK). Groups listed in
+ *   app.outbox.consumer-groups are created at startup from the start of the stream, so
+ *   nothing published before a consumer first connects is missed.
+ *
+ * The stream is trimmed to about app.outbox.stream-max-length entries. While Redis is
+ * unavailable events accumulate in the outbox table and are published when it returns.
+ * Counts outbox.published; each run is timed as outbox.relay.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String LEASE_KEY = "outbox:relay:lease";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+    /** Renews the lease if this node holds it, otherwise takes it if it is free. */
+    private static final RedisScript<Long> ACQUIRE_LEASE = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+              return redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Outbox config;
+    private final byte[] stream;
+    private final Counter published;
+    private final Timer relayTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       StringRedisTemplate redisTemplate,
+                       RedisCircuitBreaker circuitBreaker,
+                       PlatformTransactionManager transactionManager,
+                       AppProperties appProperties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = appProperties.getOutbox();
+        this.stream = config.getStream().getBytes(StandardCharsets.UTF_8);
+        this.published = Counter.builder("outbox.published")
+                .description("User change events published to the stream")
+                .register(meterRegistry);
+        this.relayTimer = Timer.builder("outbox.relay")
+                .description("Duration of one outbox relay run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void createConsumerGroups() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (String group : config.getConsumerGroups()) {
+            circuitBreaker.execute("XGROUP", () -> redisTemplate.execute((RedisCallback<String>) connection -> {
+                try {
+                    return connection.streamCommands().xGroupCreate(stream, group, ReadOffset.from("0"), true);
+                } catch (RuntimeException e) {
+                    // BUSYGROUP: created earlier — its offset is kept
+                    log.debug("Consumer group {} not created: {}", group, e.getMessage());
+                    return null;
+                }
+            }));
+        }
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    void relay() {
+        if (!config.isEnabled() || !holdsLease()) {
+            return;
+        }
+        relayTimer.record(() -> {
+            try {
+                // Drain the backlog while full batches come back
+                int size;
+                do {
+                    size = publishBatch();
+                } while (size == config.getBatchSize());
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, retrying next run: {}", e.getMessage());
+            }
+        });
+    }
+
+    /** Publishes and deletes one batch in a single transaction; returns its size (0 once the lease is lost). */
+    private int publishBatch() {
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(
+                    PageRequest.ofSize(config.getBatchSize()));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            // Renewed per batch, after the (possibly slow) read — never publish on an expired lease
+            if (!holdsLease()) {
+                log.info("Outbox relay lease lost, stopping after the current run");
+                return 0;
+            }
+            XAddOptions options = XAddOptions.maxlen(config.getStreamMaxLength()).approximateTrimming(true);
+            // Pipelined: one round trip per batch. Throws on failure — the transaction rolls back
+            // and every event of the batch stays in the outbox.
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (OutboxEvent event : batch) {
+                    connection.streamCommands().xAdd(
+                            StreamRecords.newRecord().in(stream).ofBytes(fields(event)), options);
+                }
+                return null;
+            });
+            outboxEventRepository.deleteByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+            return batch.size();
+        });
+        published.increment(count);
+        return count;
+    }
+
+    private boolean holdsLease() {
+        return circuitBreaker.execute("EVAL", () -> redisTemplate.execute(ACQUIRE_LEASE, List.of(LEASE_KEY),
+                        NODE_ID, String.valueOf(config.getLeaseTtl().toMillis())))
+                .map(result -> result == 1L)
+                .orElse(false);
+    }
+
+    private static Map<byte[], byte[]> fields(OutboxEvent event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        put(fields, "eventId", String.valueOf(event.getId()));
+        put(fields, "type", event.getType().name());
+        put(fields, "userId", event.getUserId().toString());
+        put(fields, "occurredAt", event.getCreatedAt().toString());
+        if (event.getUserVersion() != null) {
+            put(fields, "version", String.valueOf(event.getUserVersion()));
+        }
+        if (event.getPayload() != null) {
+            put(fields, "user", event.getPayload());
+        }
+        return fields;
+    }
+
+    private static void put(Map<byte[], byte[]> fields, String name, String value) {
+        fields.put(name.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+}
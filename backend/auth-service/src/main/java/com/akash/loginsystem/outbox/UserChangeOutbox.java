@@ -0,0 +1,78 @@
+package com.akash.loginsystem.outbox;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.entity.OutboxEvent;
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.model.UserChangeType;
+import com.akash.loginsystem.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Transactional outbox for user changes. Every write path that changes what downstream
+ * services replicate records an event here, inside its own transaction: the event commits
+ * with the change or not at all. {@link OutboxRelay} publishes committed events.
+ *
+ * Events carry the profile snapshot after the change and its users.version, so a consumer
+ * applies an event only if its version is newer than the one it holds.
+ *
+ * With app.outbox.enabled=false nothing is recorded — there is no relay to drain the table.
+ */
+@Component
+public class UserChangeOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter snapshotWriter;
+    private final boolean enabled;
+
+    public UserChangeOutbox(OutboxEventRepository outboxEventRepository,
+                            EntityManager entityManager,
+                            ObjectMapper objectMapper,
+                            AppProperties appProperties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.entityManager = entityManager;
+        this.snapshotWriter = objectMapper.writerFor(UserResponse.class);
+        this.enabled = appProperties.getOutbox().isEnabled();
+    }
+
+    /** A change to the user row — flushed first, so the snapshot carries the bumped version. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserChangeType type, User user) {
+        if (!enabled) {
+            return;
+        }
+        entityManager.flush();
+        UserResponse snapshot = UserResponse.from(user);
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .userId(user.getId())
+                    .type(type)
+                    .userVersion(snapshot.getVersion())
+                    .payload(snapshotWriter.writeValueAsString(snapshot))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize user change event", e);
+        }
+    }
+
+    /** An event that does not touch the user row (sign-out). */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserChangeType type, UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .userId(userId)
+                .type(type)
+                .build());
+    }
+}
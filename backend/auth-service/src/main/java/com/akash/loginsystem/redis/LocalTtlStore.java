@@ -0,0 +1,104 @@
+package com.akash.loginsystem.redis;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory key/value store with per-entry TTL — the degraded-mode stand-in for Redis.
+ *
+ * Keys are spread over independently locked shards so concurrent callers rarely contend.
+ * Each shard holds at most maxEntries / shards entries and drops its oldest entry when full.
+ * {@link #getAndDelete(String)} removes under the shard lock, so a value can be taken once
+ * only — the same one-time-use guarantee as Redis GETDEL.
+ */
+public class LocalTtlStore {
+
+    private static final int SHARDS = 16;
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    public LocalTtlStore(int maxEntries) {
+        int perShard = Math.max(1, maxEntries / SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(perShard);
+        }
+    }
+
+    public void put(String key, byte[] value, Duration ttl) {
+        shard(key).put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    /** Returns the value without removing it, or null if absent or expired. */
+    public byte[] get(String key) {
+        Entry entry = shard(key).get(key);
+        if (entry == null || entry.expiresAtMs() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    /** Atomically removes and returns the value, or null if absent or expired. */
+    public byte[] getAndDelete(String key) {
+        Entry entry = shard(key).remove(key);
+        if (entry == null || entry.expiresAtMs() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Shard shard : shards) {
+            shard.purgeExpired(now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private Shard shard(String key) {
+        return shards[(key.hashCode() & 0x7FFFFFFF) % SHARDS];
+    }
+
+    private record Entry(byte[] value, long expiresAtMs) {}
+
+    private static final class Shard {
+
+        private final LinkedHashMap<String, Entry> entries;
+
+        Shard(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized void put(String key, Entry entry) {
+            entries.put(key, entry);
+        }
+
+        synchronized Entry get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized Entry remove(String key) {
+            return entries.remove(key);
+        }
+
+        synchronized void purgeExpired(long now) {
+            entries.values().removeIf(entry -> entry.expiresAtMs() <= now);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
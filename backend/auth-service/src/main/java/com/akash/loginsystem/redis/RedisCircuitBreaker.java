@@ -0,0 +1,112 @@
+package com.akash.loginsystem.redis;
+
+import com.akash.loginsystem.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around Redis calls.
+ *
+ * CLOSED    → calls go through; N consecutive failures (timeouts included) open the circuit.
+ * OPEN      → calls are skipped instantly for app.redis.open-duration, so a Redis brownout
+ *             costs callers nothing instead of one command timeout each.
+ * HALF_OPEN → a single trial call is let through; success closes, failure re-opens.
+ *
+ * Command timeouts themselves are bounded by spring.data.redis.timeout.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AppProperties appProperties;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Counter rejected;
+    private volatile long openedAtMs;
+
+    public RedisCircuitBreaker(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.appProperties = appProperties;
+        Gauge.builder("redis.circuit.state", state, s -> s.get().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("redis.circuit.rejected")
+                .description("Redis calls skipped because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call if the circuit allows it. Returns empty when the call was skipped,
+     * failed, or returned null — callers fall back in all three cases.
+     */
+    public <T> Optional<T> execute(String operation, Supplier<T> call) {
+        State before = state.get();
+        if (!allowRequest(before)) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        try {
+            T result = call.get();
+            recordSuccess();
+            return Optional.ofNullable(result);
+        } catch (DataAccessException e) {
+            recordFailure();
+            log.warn("Redis {} failed ({}), circuit {}", operation, e.getMessage(), state.get());
+            return Optional.empty();
+        } catch (RuntimeException | Error e) {
+            // Not a Redis failure, so it propagates — but a failed trial must not leave the
+            // circuit HALF_OPEN, where it would reject every call from then on
+            if (before != State.CLOSED) {
+                reopen();
+            }
+            throw e;
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /** Admits every call while CLOSED; otherwise only the one trial that moves OPEN → HALF_OPEN. */
+    private boolean allowRequest(State current) {
+        if (current == State.CLOSED) {
+            return true;
+        }
+        long openMs = appProperties.getRedis().getOpenDuration().toMillis();
+        return current == State.OPEN
+                && System.currentTimeMillis() - openedAtMs >= openMs
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis circuit closed — Redis reachable again");
+        }
+    }
+
+    private void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state.get() == State.HALF_OPEN || failures >= appProperties.getRedis().getFailureThreshold()) {
+            openedAtMs = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Redis circuit opened after {} consecutive failure(s)", failures);
+            }
+        }
+    }
+
+    private void reopen() {
+        openedAtMs = System.currentTimeMillis();
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+}
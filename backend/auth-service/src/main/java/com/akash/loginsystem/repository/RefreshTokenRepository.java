@@ -18,10 +18,20 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
 
     Optional<RefreshToken> findByToken(String token);
 
-    /** Remove all tokens for a user (logout / token rotation). */
+    boolean existsByToken(String token);
+
+    /** Token and owner in one query — every rotation needs the user. */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.token = :token")
+    Optional<RefreshToken> findByTokenWithUser(@Param("token") String token);
+
+    /**
+     * Remove all tokens for a user (logout / token rotation).
+     * Single bulk DELETE — the derived-query form selected the rows first and deleted them one by one.
+     */
     @Modifying
     @Transactional
-    void deleteByUser(User user);
+    @Query("DELETE FROM RefreshToken r WHERE r.user = :user")
+    void deleteByUser(@Param("user") User user);
 
     /**
      * Atomically deletes a single refresh token by its string value.
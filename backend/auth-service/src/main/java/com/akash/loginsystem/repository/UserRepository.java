@@ -1,10 +1,16 @@
 package com.akash.loginsystem.repository;
 
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
 import com.akash.loginsystem.entity.User;
 import com.akash.loginsystem.model.AuthProvider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +22,15 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByProviderIdAndProvider(String providerId, AuthProvider provider);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Summaries straight from the columns — no entity instances, dirty checking or
+     * second-level cache puts for what is a read-only fan-out lookup. Read-only, so it is
+     * routed to a replica when one is configured.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.akash.loginsystem.dto.response.UserSummaryResponse("
+            + "u.id, u.email, u.name, u.provider, u.passwordSet, u.pictureUrl) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 }
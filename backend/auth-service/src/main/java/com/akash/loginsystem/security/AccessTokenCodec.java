@@ -0,0 +1,467 @@
+package com.akash.loginsystem.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA JWT codec specialised for our access-token claim set:
+ * {"jti","iss","sub","role","iat","exp"}, in the same order and layout jjwt produced, so
+ * tokens issued before and after the switch are interchangeable.
+ *
+ * Encoding writes the claims straight into a per-thread byte buffer behind a precomputed
+ * Base64URL header and signs with a per-thread Mac — no claim map, no JSON library, no Date.
+ * Decoding rejects anything that does not carry exactly our header or that is not Base64URL
+ * before computing the MAC, compares signatures in constant time, and only then scans the
+ * (flat, trusted) payload for sub, exp and nbf. Duplicate claim names are rejected, as jjwt's
+ * strict JSON parsing does.
+ */
+final class AccessTokenCodec {
+
+    /** Thrown for any token that must be rejected; the message is safe to log. */
+    static final class InvalidTokenException extends Exception {
+        private final boolean expired;
+
+        InvalidTokenException(String message, boolean expired) {
+            super(message, null, false, false);
+            this.expired = expired;
+        }
+
+        boolean isExpired() {
+            return expired;
+        }
+    }
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private static final byte[] JTI_PREFIX = ascii("{\"jti\":\"");
+    private static final byte[] SUB_PREFIX = ascii("\",\"sub\":\"");
+    private static final byte[] ROLE_PREFIX = ascii("\",\"role\":\"");
+    private static final byte[] IAT_PREFIX = ascii("\",\"iat\":");
+    private static final byte[] EXP_PREFIX = ascii(",\"exp\":");
+
+    private final SecretKey key;
+    private final String jcaAlgorithm;
+    /** Base64URL({"alg":"HSxxx"}) followed by '.' */
+    private final byte[] header;
+    /** ","iss":"<issuer, JSON-escaped, UTF-8> */
+    private final byte[] issuerFragment;
+    private final int macLength;
+    private final int signatureChars;
+    private final ThreadLocal<Scratch> scratch;
+
+    AccessTokenCodec(SecretKey key, String issuer) {
+        this.key = key;
+        this.jcaAlgorithm = key.getAlgorithm();
+        String jwsAlgorithm = switch (jcaAlgorithm) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Unsupported signing key algorithm: " + jcaAlgorithm);
+        };
+        byte[] headerJson = ascii("{\"alg\":\"" + jwsAlgorithm + "\"}");
+        byte[] encodedHeader = Base64.getUrlEncoder().withoutPadding().encode(headerJson);
+        this.header = Arrays.copyOf(encodedHeader, encodedHeader.length + 1);
+        this.header[encodedHeader.length] = '.';
+        this.issuerFragment = ("\",\"iss\":\"" + jsonEscape(issuer)).getBytes(StandardCharsets.UTF_8);
+        this.macLength = newMac().getMacLength();
+        this.signatureChars = (macLength * 4 + 2) / 3;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(newMac(), macLength));
+    }
+
+    // ── Encoding ──────────────────────────────────────────────────────────────
+
+    /** jti, sub and role must be ASCII without JSON metacharacters (ids and enum names). */
+    String encode(String jti, String subject, String role, long issuedAtSeconds, long expiresAtSeconds) {
+        Scratch s = scratch.get();
+        int rawMax = JTI_PREFIX.length + jti.length() + issuerFragment.length + SUB_PREFIX.length
+                + subject.length() + ROLE_PREFIX.length + role.length() + IAT_PREFIX.length
+                + EXP_PREFIX.length + 2 * 20 + 1;
+        byte[] raw = s.raw(rawMax);
+
+        int n = put(raw, 0, JTI_PREFIX);
+        n = putAscii(raw, n, jti);
+        n = put(raw, n, issuerFragment);
+        n = put(raw, n, SUB_PREFIX);
+        n = putAscii(raw, n, subject);
+        n = put(raw, n, ROLE_PREFIX);
+        n = putAscii(raw, n, role);
+        n = put(raw, n, IAT_PREFIX);
+        n = putLong(raw, n, issuedAtSeconds);
+        n = put(raw, n, EXP_PREFIX);
+        n = putLong(raw, n, expiresAtSeconds);
+        raw[n++] = '}';
+
+        byte[] out = s.out(header.length + (n * 4 + 2) / 3 + 1 + signatureChars);
+        int len = put(out, 0, header);
+        len = encodeBase64Url(raw, n, out, len);
+        try {
+            s.mac.update(out, 0, len);
+            s.mac.doFinal(s.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign access token", e);
+        }
+        out[len++] = '.';
+        len = encodeBase64Url(s.signature, macLength, out, len);
+        return new String(out, 0, len, StandardCharsets.ISO_8859_1);
+    }
+
+    // ── Decoding ──────────────────────────────────────────────────────────────
+
+    /** Verifies the token and returns its subject (user id). */
+    String verify(String token, long nowSeconds) throws InvalidTokenException {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            throw new InvalidTokenException("Malformed token", false);
+        }
+        int length = token.length();
+        int headerEnd = header.length;   // index just past the '.'
+        int signatureStart = length - signatureChars;
+        if (signatureStart <= headerEnd + 1 || token.charAt(signatureStart - 1) != '.') {
+            throw new InvalidTokenException("Malformed token", false);
+        }
+        for (int i = 0; i < headerEnd; i++) {
+            if (token.charAt(i) != header[i]) {
+                throw new InvalidTokenException("Unexpected token header", false);
+            }
+        }
+
+        Scratch s = scratch.get();
+        int signingInputLength = signatureStart - 1;
+        byte[] input = s.out(signingInputLength);
+        for (int i = 0; i < signingInputLength; i++) {
+            char c = token.charAt(i);
+            if (i >= headerEnd && (c >= 128 || DECODE[c] < 0)) {
+                throw new InvalidTokenException("Malformed token", false);
+            }
+            input[i] = (byte) c;
+        }
+
+        try {
+            s.mac.update(input, 0, signingInputLength);
+            s.mac.doFinal(s.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to verify access token", e);
+        }
+        byte[] expected = s.encodedSignature;
+        encodeBase64Url(s.signature, macLength, expected, 0);
+        int diff = 0;
+        for (int i = 0; i < signatureChars; i++) {
+            diff |= expected[i] ^ token.charAt(signatureStart + i);
+        }
+        if (diff != 0) {
+            throw new InvalidTokenException("Invalid signature", false);
+        }
+
+        int payloadLength = signingInputLength - headerEnd;
+        byte[] raw = s.raw(payloadLength);
+        int n = decodeBase64Url(input, headerEnd, payloadLength, raw);
+        if (n < 0) {
+            throw new InvalidTokenException("Malformed payload", false);
+        }
+        return readClaims(raw, n, nowSeconds);
+    }
+
+    /**
+     * Scans the flat payload object. Only strings and integers occur in tokens we issued; the
+     * signature already proved we issued it, so anything else is rejected rather than parsed.
+     */
+    private static String readClaims(byte[] json, int length, long nowSeconds) throws InvalidTokenException {
+        String subject = null;
+        long exp = Long.MIN_VALUE;
+        long nbf = Long.MIN_VALUE;
+        int[] keys = new int[16];   // start, end of every claim name read so far
+        int keyCount = 0;
+
+        int i = skipWhitespace(json, 0, length);
+        if (i >= length || json[i++] != '{') {
+            throw new InvalidTokenException("Malformed payload", false);
+        }
+        i = skipWhitespace(json, i, length);
+        if (i < length && json[i] == '}') {
+            i++;
+        } else {
+            while (true) {
+                if (i >= length || json[i] != '"') {
+                    throw new InvalidTokenException("Malformed payload", false);
+                }
+                int keyStart = i + 1;
+                int keyEnd = endOfString(json, keyStart, length);
+                // As jjwt: a claim may occur once. Names are compared raw, so no escapes either.
+                for (int k = keyStart; k < keyEnd; k++) {
+                    if (json[k] == '\\') {
+                        throw new InvalidTokenException("Malformed payload", false);
+                    }
+                }
+                for (int k = 0; k < keyCount; k++) {
+                    if (Arrays.equals(json, keys[2 * k], keys[2 * k + 1], json, keyStart, keyEnd)) {
+                        throw new InvalidTokenException("Duplicate claim", false);
+                    }
+                }
+                if (2 * keyCount + 2 > keys.length) {
+                    keys = Arrays.copyOf(keys, keys.length * 2);
+                }
+                keys[2 * keyCount] = keyStart;
+                keys[2 * keyCount + 1] = keyEnd;
+                keyCount++;
+                i = skipWhitespace(json, keyEnd + 1, length);
+                if (i >= length || json[i++] != ':') {
+                    throw new InvalidTokenException("Malformed payload", false);
+                }
+                i = skipWhitespace(json, i, length);
+                if (i >= length) {
+                    throw new InvalidTokenException("Malformed payload", false);
+                }
+
+                if (json[i] == '"') {
+                    int valueStart = i + 1;
+                    int valueEnd = endOfString(json, valueStart, length);
+                    if (isKey(json, keyStart, keyEnd, "sub")) {
+                        for (int j = valueStart; j < valueEnd; j++) {
+                            if (json[j] == '\\') {
+                                throw new InvalidTokenException("Malformed subject", false);
+                            }
+                        }
+                        subject = new String(json, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+                    }
+                    i = valueEnd + 1;
+                } else if (json[i] == '-' || (json[i] >= '0' && json[i] <= '9')) {
+                    int start = i;
+                    boolean negative = json[i] == '-';
+                    if (negative) {
+                        i++;
+                    }
+                    long value = 0;
+                    int digits = 0;
+                    while (i < length && json[i] >= '0' && json[i] <= '9') {
+                        if (++digits > 18) {
+                            throw new InvalidTokenException("Malformed payload", false);
+                        }
+                        value = value * 10 + (json[i++] - '0');
+                    }
+                    if (digits == 0 || (i < length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E'))) {
+                        throw new InvalidTokenException("Malformed payload at " + start, false);
+                    }
+                    value = negative ? -value : value;
+                    if (isKey(json, keyStart, keyEnd, "exp")) {
+                        exp = value;
+                    } else if (isKey(json, keyStart, keyEnd, "nbf")) {
+                        nbf = value;
+                    }
+                } else {
+                    throw new InvalidTokenException("Unsupported claim value", false);
+                }
+
+                i = skipWhitespace(json, i, length);
+                if (i < length && json[i] == ',') {
+                    i = skipWhitespace(json, i + 1, length);
+                } else if (i < length && json[i] == '}') {
+                    i++;
+                    break;
+                } else {
+                    throw new InvalidTokenException("Malformed payload", false);
+                }
+            }
+        }
+        if (skipWhitespace(json, i, length) != length) {
+            throw new InvalidTokenException("Malformed payload", false);
+        }
+
+        if (subject == null || exp == Long.MIN_VALUE) {
+            throw new InvalidTokenException("Missing sub or exp claim", false);
+        }
+        if (nowSeconds >= exp) {
+            throw new InvalidTokenException("Token expired at " + exp, true);
+        }
+        if (nbf != Long.MIN_VALUE && nowSeconds < nbf) {
+            throw new InvalidTokenException("Token not valid before " + nbf, false);
+        }
+        return subject;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(jcaAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + jcaAlgorithm, e);
+        }
+    }
+
+    private static int encodeBase64Url(byte[] src, int srcLength, byte[] dst, int offset) {
+        int i = 0;
+        int o = offset;
+        for (int full = srcLength - srcLength % 3; i < full; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[o++] = ALPHABET[bits >>> 18];
+            dst[o++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[o++] = ALPHABET[(bits >>> 6) & 0x3f];
+            dst[o++] = ALPHABET[bits & 0x3f];
+        }
+        int remaining = srcLength - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[o++] = ALPHABET[bits >>> 18];
+            dst[o++] = ALPHABET[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[o++] = ALPHABET[bits >>> 18];
+            dst[o++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[o++] = ALPHABET[(bits >>> 6) & 0x3f];
+        }
+        return o;
+    }
+
+    /** Input characters are already known to be in the alphabet. Returns -1 on a bad length. */
+    private static int decodeBase64Url(byte[] src, int offset, int length, byte[] dst) {
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int o = 0;
+        int end = offset + length;
+        int i = offset;
+        for (int full = end - length % 4; i < full; i += 4) {
+            int bits = DECODE[src[i]] << 18 | DECODE[src[i + 1]] << 12 | DECODE[src[i + 2]] << 6 | DECODE[src[i + 3]];
+            dst[o++] = (byte) (bits >>> 16);
+            dst[o++] = (byte) (bits >>> 8);
+            dst[o++] = (byte) bits;
+        }
+        int remaining = end - i;
+        if (remaining >= 2) {
+            int bits = DECODE[src[i]] << 18 | DECODE[src[i + 1]] << 12 | (remaining == 3 ? DECODE[src[i + 2]] << 6 : 0);
+            dst[o++] = (byte) (bits >>> 16);
+            if (remaining == 3) {
+                dst[o++] = (byte) (bits >>> 8);
+            }
+        }
+        return o;
+    }
+
+    private static int endOfString(byte[] json, int start, int length) throws InvalidTokenException {
+        for (int i = start; i < length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i;
+            }
+        }
+        throw new InvalidTokenException("Malformed payload", false);
+    }
+
+    private static boolean isKey(byte[] json, int start, int end, String key) {
+        if (end - start != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (json[start + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(byte[] json, int i, int length) {
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int put(byte[] dst, int offset, byte[] src) {
+        System.arraycopy(src, 0, dst, offset, src.length);
+        return offset + src.length;
+    }
+
+    private static int putAscii(byte[] dst, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            dst[offset + i] = (byte) value.charAt(i);
+        }
+        return offset + value.length();
+    }
+
+    /** Non-negative epoch seconds, written as decimal digits. */
+    private static int putLong(byte[] dst, int offset, long value) {
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + digits;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Escapes exactly as Jackson does for the issuer string (quotes, backslash, control chars). */
+    private static String jsonEscape(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Per-thread Mac and buffers, grown on demand and reused across tokens. */
+    private static final class Scratch {
+        final Mac mac;
+        final byte[] signature;
+        final byte[] encodedSignature;
+        private byte[] raw = new byte[512];
+        private byte[] out = new byte[1024];
+
+        Scratch(Mac mac, int macLength) {
+            this.mac = mac;
+            this.signature = new byte[macLength];
+            this.encodedSignature = new byte[(macLength * 4 + 2) / 3];
+        }
+
+        byte[] raw(int capacity) {
+            if (raw.length < capacity) {
+                raw = new byte[capacity];
+            }
+            return raw;
+        }
+
+        byte[] out(int capacity) {
+            if (out.length < capacity) {
+                out = new byte[capacity];
+            }
+            return out;
+        }
+    }
+}
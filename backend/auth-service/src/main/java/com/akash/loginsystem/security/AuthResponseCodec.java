@@ -0,0 +1,136 @@
+package com.akash.loginsystem.security;
+
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.model.AuthProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Versioned binary encoding of an AuthResponse kept in Redis: the one parked between the OAuth
+ * callback and the /oauth2/token exchange (OAuthTokenStore), the pair a refresh token was
+ * rotated into (RefreshGraceStore) and stored idempotent responses (IdempotencyStore).
+ * Replaces per-login Jackson JSON: no field names, the UUID as 16 raw bytes, booleans and
+ * provider packed into two bytes.
+ *
+ * v1 layout:
+ *   version(1) flags(1) provider(1) [userId msb(8) lsb(8)]
+ *   accessToken refreshToken [email name pictureUrl]
+ * Strings are a u16 length (0xFFFF = null) followed by UTF-8 bytes. Bracketed parts are
+ * present only when FLAG_HAS_USER is set.
+ *
+ * The version byte never collides with '{', so values written as JSON by older pods are
+ * still recognised during a rolling deploy (see {@link #isBinary(byte[])}).
+ *
+ * Decoding only ever throws IOException for data it cannot read — truncated, an unknown
+ * version or provider — so callers treat any of it as a missing entry.
+ */
+public final class AuthResponseCodec {
+
+    static final byte VERSION_1 = 1;
+
+    private static final int FLAG_REQUIRES_PASSWORD_SET = 1;
+    private static final int FLAG_HAS_USER = 1 << 1;
+    private static final int FLAG_PASSWORD_SET = 1 << 2;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private static final AuthProvider[] PROVIDERS = AuthProvider.values();
+
+    private AuthResponseCodec() {}
+
+    public static boolean isBinary(byte[] value) {
+        return value.length > 0 && value[0] == VERSION_1;
+    }
+
+    public static byte[] encode(AuthResponse response) {
+        UserSummaryResponse user = response.getUser();
+        int flags = (response.isRequiresPasswordSet() ? FLAG_REQUIRES_PASSWORD_SET : 0)
+                | (user != null ? FLAG_HAS_USER : 0)
+                | (user != null && user.passwordSet() ? FLAG_PASSWORD_SET : 0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION_1);
+            out.writeByte(flags);
+            out.writeByte(user != null && user.provider() != null ? user.provider().ordinal() : 0);
+            if (user != null) {
+                out.writeLong(user.id().getMostSignificantBits());
+                out.writeLong(user.id().getLeastSignificantBits());
+            }
+            writeString(out, response.getAccessToken());
+            writeString(out, response.getRefreshToken());
+            if (user != null) {
+                writeString(out, user.email());
+                writeString(out, user.name());
+                writeString(out, user.pictureUrl());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode auth response", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static AuthResponse decode(byte[] value) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+        byte version = in.readByte();
+        if (version != VERSION_1) {
+            throw new IOException("Unsupported auth response encoding version: " + version);
+        }
+        int flags = in.readUnsignedByte();
+        int providerOrdinal = in.readUnsignedByte();
+        if (providerOrdinal >= PROVIDERS.length) {
+            throw new IOException("Unknown auth provider ordinal: " + providerOrdinal);
+        }
+        AuthProvider provider = PROVIDERS[providerOrdinal];
+        UUID userId = (flags & FLAG_HAS_USER) != 0 ? new UUID(in.readLong(), in.readLong()) : null;
+        String accessToken = readString(in);
+        String refreshToken = readString(in);
+
+        UserSummaryResponse user = null;
+        if (userId != null) {
+            user = new UserSummaryResponse(
+                userId,
+                readString(in),
+                readString(in),
+                provider,
+                (flags & FLAG_PASSWORD_SET) != 0,
+                readString(in)
+            );
+        }
+        return AuthResponse.builder()
+            .accessToken(accessToken)
+            .refreshToken(refreshToken)
+            .requiresPasswordSet((flags & FLAG_REQUIRES_PASSWORD_SET) != 0)
+            .user(user)
+            .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= NULL_LENGTH) {
+            throw new IOException("String too long for auth response encoding: " + utf8.length + " bytes");
+        }
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,7 @@
 package com.akash.loginsystem.security;
 
 import com.akash.loginsystem.entity.User;
-import com.akash.loginsystem.repository.UserRepository;
+import com.akash.loginsystem.lookup.CoalescedLookups;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,18 +15,19 @@ import java.util.UUID;
 
 /**
  * Loads UserDetails by email (for form login) or by UUID (for JWT filter).
+ * Concurrent lookups of the same user share one query (CoalescedLookups).
  */
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final CoalescedLookups lookups;
 
     /** Used by Spring Security's form-login / DaoAuthenticationProvider. */
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = lookups.findUserByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("No user with email: " + email));
         return toUserDetails(user);
     }
@@ -34,7 +35,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     /** Used by JwtAuthFilter — looks up by the `sub` claim (userId). */
     @Transactional(readOnly = true)
     public UserDetails loadUserById(String userId) {
-        User user = userRepository.findById(UUID.fromString(userId))
+        User user = lookups.findUserById(UUID.fromString(userId))
                 .orElseThrow(() -> new UsernameNotFoundException("No user with id: " + userId));
         return toUserDetails(user);
     }
@@ -1,5 +1,8 @@
 package com.akash.loginsystem.security;
 
+import com.akash.loginsystem.activity.ActivityTracker;
+import com.akash.loginsystem.datasource.ReadYourWritesTracker;
+import com.akash.loginsystem.datasource.RoutingDataSource;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 /**
  * Extracts Bearer token from Authorization header, validates it,
@@ -29,6 +33,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ActivityTracker activityTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,10 +44,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = extractToken(request);
 
-        if (StringUtils.hasText(token) && jwtProvider.validateToken(token)) {
-            String userId = jwtProvider.extractUserId(token);
+        String userId = StringUtils.hasText(token) ? jwtProvider.verifiedUserId(token) : null;
+        if (userId != null) {
+
+            // Read-your-writes: a user who just changed their data must not be served by a lagging replica.
+            // The pin is cleared by WorkloadRoutingFilter at the end of the request.
+            if (readYourWritesTracker.isWithinWindow(UUID.fromString(userId))) {
+                RoutingDataSource.pinToPrimary();
+            }
 
             UserDetails userDetails = userDetailsService.loadUserById(userId);
+            // In memory only — written with the next batched flush
+            activityTracker.recordSeen(UUID.fromString(userId));
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
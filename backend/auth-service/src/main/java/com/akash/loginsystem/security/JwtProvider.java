@@ -2,7 +2,7 @@ package com.akash.loginsystem.security;
 
 import com.akash.loginsystem.config.AppProperties;
 import com.akash.loginsystem.entity.User;
-import io.jsonwebtoken.*;
+import com.akash.loginsystem.security.random.SecureIdGenerator;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -11,13 +11,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.UUID;
 
 /**
  * Handles JWT generation and validation.
  * Claims: sub (userId), role, iss (issuer), jti (token ID).
- * Algorithm: HS256.
+ * Algorithm: HS256/384/512, chosen by jjwt from the secret length (64+ bytes → HS512).
+ * Encoding and verification go through {@link AccessTokenCodec}; jjwt only derives the key.
  *
  * M-3: Added iss and jti claims for RFC 7519 compliance.
  *      Removed email claim — it was redundant (JwtAuthFilter loads user by sub/userId)
@@ -29,14 +28,17 @@ import java.util.UUID;
 public class JwtProvider {
 
     private final AppProperties appProperties;
+    private final SecureIdGenerator idGenerator;
 
     /** S-5: Derived once at startup — avoids Base64 decode + key construction on every call. */
     private SecretKey cachedSigningKey;
+    private AccessTokenCodec codec;
 
     @PostConstruct
     void init() {
         byte[] keyBytes = Decoders.BASE64.decode(appProperties.getJwt().getSecret());
         cachedSigningKey = Keys.hmacShaKeyFor(keyBytes);
+        codec = new AccessTokenCodec(cachedSigningKey, appProperties.getBaseUrl());
     }
 
     // ── Token Generation ────────────────────────────────────────────────────
@@ -51,49 +53,34 @@ public class JwtProvider {
 
     public String generateRefreshTokenValue() {
         // Opaque random string — stored in DB, not a JWT
-        return UUID.randomUUID().toString();
+        return idGenerator.newId(appProperties.getTokens().getRefreshTokenEntropyBytes());
     }
 
     // ── Validation ───────────────────────────────────────────────────────────
 
-    public boolean validateToken(String token) {
+    /** Verifies signature and expiry in one pass; returns the user id, or null if the token is invalid. */
+    public String verifiedUserId(String token) {
         try {
-            parseClaims(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.warn("JWT expired: {}", e.getMessage());
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Invalid JWT: {}", e.getMessage());
+            return codec.verify(token, System.currentTimeMillis() / 1000);
+        } catch (AccessTokenCodec.InvalidTokenException e) {
+            if (e.isExpired()) {
+                log.warn("JWT expired: {}", e.getMessage());
+            } else {
+                log.warn("Invalid JWT: {}", e.getMessage());
+            }
+            return null;
         }
-        return false;
-    }
-
-    // ── Extraction ────────────────────────────────────────────────────────────
-
-    public String extractUserId(String token) {
-        return parseClaims(token).getSubject();
     }
 
     // ── Internal ──────────────────────────────────────────────────────────────
 
     private String buildToken(String subject, String role, long expiryMs) {
-        Date now = new Date();
-        return Jwts.builder()
-                .id(UUID.randomUUID().toString())             // jti — unique token ID (RFC 7519)
-                .issuer(appProperties.getBaseUrl())           // iss — identifies this service
-                .subject(subject)
-                .claim("role", role)
-                .issuedAt(now)
-                .expiration(new Date(now.getTime() + expiryMs))
-                .signWith(cachedSigningKey)
-                .compact();
-    }
-
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(cachedSigningKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long nowMs = System.currentTimeMillis();
+        return codec.encode(
+                idGenerator.newId(appProperties.getTokens().getJtiEntropyBytes()),  // jti — unique token ID (RFC 7519)
+                subject,
+                role,
+                nowMs / 1000,
+                (nowMs + expiryMs) / 1000);
     }
 }
@@ -0,0 +1,174 @@
+package com.akash.loginsystem.security;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.redis.LocalTtlStore;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Refresh grace window: remembers, for app.jwt.refresh-grace-window, which token pair a
+ * refresh token was rotated into. Two tabs refreshing with the same cookie at the same moment
+ * then both end up with that pair, instead of the slower one being treated as a replay and
+ * logged out (followed by a full, BCrypt-priced login).
+ *
+ * Keys are a SHA-256 of the consumed token, never the token itself. Entries are written only
+ * after the rotating transaction commits, and are read, not consumed — any number of tabs may
+ * replay within the window. A window of 0 turns the feature off.
+ *
+ * Same degraded mode as OAuthTokenStore: while Redis is unavailable, entries go to a bounded
+ * local {@link LocalTtlStore} and can only be replayed on this pod.
+ */
+@Component
+@Slf4j
+public class RefreshGraceStore {
+
+    private static final String KEY_PREFIX = "refresh:grace:";
+    /** A replay can arrive between the winner's commit and its SET — wait this long at most. */
+    private static final int AWAIT_ATTEMPTS = 5;
+    private static final long AWAIT_INTERVAL_MS = 20;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final Duration window;
+    private final LocalTtlStore fallbackStore;
+    private final Counter served;
+
+    public RefreshGraceStore(StringRedisTemplate redisTemplate,
+                             RedisCircuitBreaker circuitBreaker,
+                             AppProperties appProperties,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.window = appProperties.getJwt().getRefreshGraceWindow();
+        this.fallbackStore = new LocalTtlStore(appProperties.getRedis().getFallbackMaxEntries());
+        this.served = Counter.builder("refresh.grace.served")
+                .description("Repeated refreshes answered with the pair the token was already rotated into")
+                .register(meterRegistry);
+    }
+
+    /** Records the rotation once the current transaction commits (immediately outside one). */
+    public void rememberAfterCommit(String consumedToken, AuthResponse issued) {
+        if (window.isZero() || window.isNegative()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remember(consumedToken, issued);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(consumedToken, issued);
+            }
+        });
+    }
+
+    /**
+     * The pair the token was rotated into, if that happened within the grace window. One
+     * lookup — for a token that is simply unknown there is nothing to wait for.
+     */
+    public Optional<AuthResponse> find(String consumedToken) {
+        if (window.isZero() || window.isNegative()) {
+            return Optional.empty();
+        }
+        return decode(lookup(key(consumedToken)));
+    }
+
+    /**
+     * Like {@link #find}, for a caller that just lost the rotation race: the winner's entry is
+     * written after its commit, so it may not be there yet — polls for up to 100 ms. Call it
+     * outside any transaction, so no connection is held while waiting.
+     */
+    public Optional<AuthResponse> await(String consumedToken) {
+        if (window.isZero() || window.isNegative()) {
+            return Optional.empty();
+        }
+        String key = key(consumedToken);
+        for (int attempt = 1; ; attempt++) {
+            byte[] value = lookup(key);
+            if (value != null || attempt == AWAIT_ATTEMPTS) {
+                return decode(value);
+            }
+            try {
+                Thread.sleep(AWAIT_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    void purgeExpiredFallbackEntries() {
+        fallbackStore.purgeExpired();
+    }
+
+    private void remember(String consumedToken, AuthResponse issued) {
+        String key = key(consumedToken);
+        byte[] value = AuthResponseCodec.encode(issued);
+        boolean stored = circuitBreaker.execute("SET", () -> redisTemplate.execute(
+                (RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(bytes(key), value, Expiration.from(window), RedisStringCommands.SetOption.upsert())))
+                .orElse(false);
+        if (!stored) {
+            fallbackStore.put(key, value, window);
+        }
+    }
+
+    private Optional<AuthResponse> decode(byte[] value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            AuthResponse issued = AuthResponseCodec.decode(value);
+            served.increment();
+            return Optional.of(issued);
+        } catch (IOException e) {
+            log.error("Failed to decode refresh grace entry", e);
+            return Optional.empty();
+        }
+    }
+
+    private byte[] lookup(String key) {
+        // Degraded-mode entries never reach Redis, so a local hit is authoritative
+        byte[] value = fallbackStore.get(key);
+        if (value != null) {
+            return value;
+        }
+        return circuitBreaker.execute("GET", () -> redisTemplate.execute(
+                (RedisCallback<byte[]>) connection -> connection.stringCommands().get(bytes(key))))
+                .orElse(null);
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package com.akash.loginsystem.security;
+
+import com.akash.loginsystem.config.AppProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Authenticates internal service callers by the X-Service-Key header against
+ * app.internal-api.service-keys ("caller:key" entries). The principal is the caller name,
+ * with ROLE_SERVICE. Only the internal security chain runs this filter — user JWTs are not
+ * accepted there, and service keys are not accepted anywhere else.
+ *
+ * Keys are kept as SHA-256 digests and every configured key is compared in constant time,
+ * so neither the match position nor a partial match is observable through timing.
+ */
+@Component
+@Slf4j
+public class ServiceKeyAuthFilter extends OncePerRequestFilter {
+
+    public static final String SERVICE_KEY_HEADER = "X-Service-Key";
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    /** A configured caller and the SHA-256 digest of its key. */
+    private record Caller(byte[] digest, String name) {}
+
+    private final List<Caller> callers = new ArrayList<>();
+
+    public ServiceKeyAuthFilter(AppProperties appProperties) {
+        for (String entry : appProperties.getInternalApi().getServiceKeys()) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalStateException("app.internal-api.service-keys entries must be caller:key");
+            }
+            callers.add(new Caller(digest(entry.substring(separator + 1).trim()), entry.substring(0, separator).trim()));
+        }
+        if (!callers.isEmpty()) {
+            log.info("Internal API enabled for callers {}", callers.stream().map(Caller::name).toList());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(SERVICE_KEY_HEADER);
+        if (StringUtils.hasText(key)) {
+            byte[] presented = digest(key);
+            String caller = null;
+            for (Caller candidate : callers) {
+                if (MessageDigest.isEqual(presented, candidate.digest())) {
+                    caller = candidate.name();
+                }
+            }
+            if (caller != null) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        caller, null, AuthorityUtils.createAuthorityList("ROLE_" + SERVICE_ROLE)));
+            } else {
+                log.warn("Rejected unknown service key on {}", request.getRequestURI());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static byte[] digest(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.akash.loginsystem.security.oauth2;
+
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Java serialization of OAuth2AuthorizationRequest for the stateless repositories.
+ * Deserialization is restricted to the JDK and Spring OAuth2 core types the request is
+ * made of — defence in depth on top of the cookie's authenticated encryption.
+ */
+final class AuthorizationRequestSerializer {
+
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=10;maxbytes=16384;"
+            + "java.lang.*;java.util.*;"
+            + "org.springframework.security.oauth2.core.*;"
+            + "org.springframework.security.oauth2.core.endpoint.*;"
+            + "!*");
+
+    private AuthorizationRequestSerializer() {}
+
+    static byte[] serialize(OAuth2AuthorizationRequest request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(request);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize OAuth2 authorization request", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Returns null for anything that is not a well-formed OAuth2AuthorizationRequest. */
+    static OAuth2AuthorizationRequest deserialize(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            in.setObjectInputFilter(FILTER);
+            return in.readObject() instanceof OAuth2AuthorizationRequest request ? request : null;
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory copy of a provider's JWKS. Refreshed in the background by
+ * {@link CachedJwksIdTokenDecoderFactory}; a token signed with an unknown key id triggers an
+ * on-demand refresh, rate-limited so a stream of forged kids cannot hammer the provider.
+ * A failed refresh keeps serving the previous keys.
+ *
+ * No lock is held across the HTTP call: the key set is fetched and parsed first, then swapped
+ * in with one volatile write. While an on-demand refresh is in flight, further unknown-kid
+ * lookups fail fast instead of queueing behind a slow provider.
+ */
+@Slf4j
+final class CachedJwkSet implements JWKSource<SecurityContext> {
+
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final String url;
+    private final RestTemplate restTemplate;
+    private final long minRefreshIntervalMs;
+    private final AtomicBoolean fetchingOnDemand = new AtomicBoolean();
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile long lastRefreshAttemptMs = Long.MIN_VALUE / 2;
+
+    CachedJwkSet(String url, RestTemplate restTemplate) {
+        this(url, restTemplate, MIN_REFRESH_INTERVAL);
+    }
+
+    CachedJwkSet(String url, RestTemplate restTemplate, Duration minRefreshInterval) {
+        this.url = url;
+        this.restTemplate = restTemplate;
+        this.minRefreshIntervalMs = minRefreshInterval.toMillis();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet);
+        if (keys.isEmpty() && refreshIfIdle()) {
+            keys = jwkSelector.select(jwkSet);
+        }
+        return keys;
+    }
+
+    /** Fetches the key set now; returns false (keeping the old keys) on failure. */
+    boolean refresh() {
+        lastRefreshAttemptMs = System.currentTimeMillis();
+        try {
+            JWKSet fetched = JWKSet.parse(restTemplate.getForObject(url, String.class));
+            jwkSet = fetched;
+            log.debug("Refreshed JWK Set from {} ({} keys)", url, fetched.getKeys().size());
+            return true;
+        } catch (RestClientException | ParseException e) {
+            log.warn("Failed to refresh JWK Set from {}: {}", url, e.getMessage());
+            return false;
+        }
+    }
+
+    /** Refreshes unless one was attempted within the minimum interval or is still in flight. */
+    private boolean refreshIfIdle() {
+        if (throttled() || !fetchingOnDemand.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            // Re-checked once the slot is ours: a refresh may have completed since the first check
+            return !throttled() && refresh();
+        } finally {
+            fetchingOnDemand.set(false);
+        }
+    }
+
+    private boolean throttled() {
+        return System.currentTimeMillis() - lastRefreshAttemptMs < minRefreshIntervalMs;
+    }
+}
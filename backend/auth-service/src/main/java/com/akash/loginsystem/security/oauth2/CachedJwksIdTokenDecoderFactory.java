@@ -0,0 +1,90 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.akash.loginsystem.http.ProviderHttpClients;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ID token decoder for OIDC logins (GOOGLE_SCOPES includes openid). Picked up by
+ * oauth2Login in place of the default factory, whose remote JWKS cache refreshes lazily on
+ * the login thread. Here the provider keys are fetched at startup and re-fetched hourly in
+ * the background, so verifying an ID token is a purely local signature check.
+ *
+ * Validation matches OidcIdTokenDecoderFactory: RS256, timestamps, iss/aud/azp/nonce.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedJwksIdTokenDecoderFactory implements JwtDecoderFactory<ClientRegistration> {
+
+    private static final ClaimTypeConverter CLAIM_TYPE_CONVERTER =
+            new ClaimTypeConverter(OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters());
+
+    private final InMemoryClientRegistrationRepository clientRegistrationRepository;
+    private final ProviderHttpClients providerHttpClients;
+
+    private final Map<String, CachedJwkSet> jwkSets = new ConcurrentHashMap<>();
+    private final Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+
+    @Override
+    public JwtDecoder createDecoder(ClientRegistration clientRegistration) {
+        return decoders.computeIfAbsent(clientRegistration.getRegistrationId(), id -> build(clientRegistration));
+    }
+
+    /** Warm the key cache so the first OIDC login after startup does not pay for the fetch. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (ClientRegistration registration : clientRegistrationRepository) {
+            if (registration.getScopes().contains(OidcScopes.OPENID)) {
+                createDecoder(registration);
+            }
+        }
+        refreshAll();
+    }
+
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+    public void refreshAll() {
+        jwkSets.values().forEach(CachedJwkSet::refresh);
+    }
+
+    private JwtDecoder build(ClientRegistration clientRegistration) {
+        String jwkSetUri = clientRegistration.getProviderDetails().getJwkSetUri();
+        if (jwkSetUri == null || jwkSetUri.isBlank()) {
+            throw new IllegalStateException(
+                    "No JWK Set URI configured for client registration " + clientRegistration.getRegistrationId());
+        }
+        CachedJwkSet jwkSet = jwkSets.computeIfAbsent(jwkSetUri,
+                uri -> new CachedJwkSet(uri, providerHttpClients.jwks()));
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSet));
+        // Claims are validated by Spring below, not by Nimbus
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(), new OidcIdTokenValidator(clientRegistration)));
+        decoder.setClaimSetConverter(CLAIM_TYPE_CONVERTER);
+        return decoder;
+    }
+}
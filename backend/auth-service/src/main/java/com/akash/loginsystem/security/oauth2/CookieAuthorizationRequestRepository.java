@@ -0,0 +1,131 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.akash.loginsystem.security.random.StripedSecureRandom;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Keeps the pending OAuth2 authorization request (state, redirect URI, PKCE data) in an
+ * AES-GCM encrypted, HttpOnly cookie instead of the HttpSession. No server-side memory, and
+ * the Google callback can be completed by any node.
+ *
+ * SameSite=Lax: the callback is a cross-site top-level GET from Google, which Lax still sends.
+ * The key is derived from the JWT secret with a purpose-specific prefix, so it never equals
+ * the signing key.
+ */
+@Slf4j
+public class CookieAuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "oauth2_auth_request";
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(3);
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final StripedSecureRandom random = StripedSecureRandom.shared();
+
+    public CookieAuthorizationRequestRepository(byte[] secret) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update("oauth2-authorization-request:".getBytes(StandardCharsets.UTF_8));
+            this.key = new SecretKeySpec(sha256.digest(secret), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return decrypt(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            writeCookie(response, "", Duration.ZERO);
+            return;
+        }
+        writeCookie(response, encrypt(AuthorizationRequestSerializer.serialize(authorizationRequest)), MAX_AGE);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        writeCookie(response, "", Duration.ZERO);
+        return authorizationRequest;
+    }
+
+    // ── Internal ──────────────────────────────────────────────────────────────
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private String encrypt(byte[] plaintext) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt OAuth2 authorization request", e);
+        }
+    }
+
+    /** Returns null for tampered, truncated or foreign cookies — treated as "no pending request". */
+    private OAuth2AuthorizationRequest decrypt(String value) {
+        try {
+            byte[] data = Base64.getUrlDecoder().decode(value);
+            if (data.length <= IV_LENGTH) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_LENGTH));
+            return AuthorizationRequestSerializer.deserialize(
+                    cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            log.warn("Rejected OAuth2 authorization request cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.akash.loginsystem.security.oauth2;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.stereotype.Service;
+
+/**
+ * OIDC counterpart of {@link OAuth2UserService}, used when the openid scope is requested.
+ *
+ * email, sub, name and picture are read from the ID token, which has already been verified
+ * locally by {@link CachedJwksIdTokenDecoderFactory} — no call to Google's userinfo endpoint.
+ * Account linking is shared with the plain OAuth2 path.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoogleOidcUserService
+        implements org.springframework.security.oauth2.client.userinfo.OAuth2UserService<OidcUserRequest, OidcUser> {
+
+    private final OAuth2UserService oAuth2UserService;
+
+    @Override
+    public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
+        OidcIdToken idToken = userRequest.getIdToken();
+        return new OidcUserPrincipal(oAuth2UserService.resolveUser(idToken.getClaims()), idToken);
+    }
+}
@@ -1,9 +1,13 @@
 package com.akash.loginsystem.security.oauth2;
 
+import com.akash.loginsystem.activity.ActivityTracker;
 import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.http.ProviderHttpClients;
 import com.akash.loginsystem.model.AuthProvider;
+import com.akash.loginsystem.model.UserChangeType;
+import com.akash.loginsystem.outbox.UserChangeOutbox;
 import com.akash.loginsystem.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
@@ -13,7 +17,9 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Maps the Google OAuth2User to our internal User entity.
@@ -21,24 +27,48 @@ import java.util.Locale;
  * Account-linking logic:
  * - If email exists (registered via LOCAL) → link: update providerId, keep passwordSet as-is.
  * - If new Google user → create with password=null, passwordSet=false.
+ * - A changed Google picture alone is handed to {@link ActivityTracker} and written with the
+ *   next batched flush, so a routine Google login does not write the users row.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final ActivityTracker activityTracker;
+    private final UserChangeOutbox userChangeOutbox;
+    private final EntityManager entityManager;
+
+    public OAuth2UserService(UserRepository userRepository,
+                             ActivityTracker activityTracker,
+                             UserChangeOutbox userChangeOutbox,
+                             EntityManager entityManager,
+                             ProviderHttpClients providerHttpClients) {
+        this.userRepository = userRepository;
+        this.activityTracker = activityTracker;
+        this.userChangeOutbox = userChangeOutbox;
+        this.entityManager = entityManager;
+        setRestOperations(providerHttpClients.userInfo());
+    }
 
     @Override
     @Transactional
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
+        return new OAuth2UserPrincipal(resolveUser(oAuth2User.getAttributes()), oAuth2User.getAttributes());
+    }
 
+    /**
+     * Finds or creates the internal User for a set of Google attributes — the userinfo response,
+     * or the verified ID token claims on the OIDC path ({@link GoogleOidcUserService}).
+     */
+    @Transactional
+    public User resolveUser(Map<String, Object> attributes) {
         // S-4: Guard against Google returning null claims (unverified or restricted accounts)
-        String rawEmail = oAuth2User.getAttribute("email");
-        String name       = oAuth2User.getAttribute("name");
-        String providerId = oAuth2User.getAttribute("sub");
-        String pictureUrl = oAuth2User.getAttribute("picture");
+        String rawEmail   = (String) attributes.get("email");
+        String name       = (String) attributes.get("name");
+        String providerId = (String) attributes.get("sub");
+        String pictureUrl = (String) attributes.get("picture");
 
         // H-3: Normalize email to lowercase for consistent account matching across providers
         String email = (rawEmail != null) ? rawEmail.toLowerCase(Locale.ROOT) : null;
@@ -52,36 +82,39 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
         // Use email as fallback display name if Google omits it
         String resolvedName = (name != null) ? name : email;
 
-        User user = userRepository.findByEmail(email)
+        return userRepository.findByEmail(email)
                 .map(existing -> linkGoogleAccount(existing, providerId, pictureUrl))
                 .orElseGet(() -> createGoogleUser(email, resolvedName, providerId, pictureUrl));
-
-        return new OAuth2UserPrincipal(user, oAuth2User.getAttributes());
     }
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
     /** Existing user (LOCAL or previous OAuth) — attach Google sub and picture if missing. */
     private User linkGoogleAccount(User user, String providerId, String pictureUrl) {
-        boolean changed = false;
+        boolean pictureChanged = pictureUrl != null && !pictureUrl.equals(user.getPictureUrl());
         if (user.getProviderId() == null) {
             user.setProviderId(providerId);
             // Do NOT overwrite provider — preserve LOCAL so password login still works.
-            changed = true;
+            if (pictureChanged) {
+                user.setPictureUrl(pictureUrl);
+            }
+            log.info("Linked/updated Google account for user: {}", user.getEmail());
+            User linked = userRepository.save(user);
+            userChangeOutbox.record(UserChangeType.GOOGLE_LINKED, linked);
+            return linked;
         }
-        if (pictureUrl != null && !pictureUrl.equals(user.getPictureUrl())) {
+        if (pictureChanged) {
+            activityTracker.recordPicture(user.getId(), pictureUrl);
+            // Detached first: the new picture goes into this login's response, not into a flush
+            entityManager.detach(user);
             user.setPictureUrl(pictureUrl);
-            changed = true;
-        }
-        if (changed) {
-            log.info("Linked/updated Google account for user: {}", user.getEmail());
-            userRepository.save(user);
         }
         return user;
     }
 
     /** Brand-new user arriving via Google — password is null, passwordSet=false. */
     private User createGoogleUser(String email, String name, String providerId, String pictureUrl) {
+        Instant now = Instant.now();
         User newUser = User.builder()
                 .email(email)
                 .name(name)
@@ -90,8 +123,12 @@ public class OAuth2UserService extends DefaultOAuth2UserService {
                 .pictureUrl(pictureUrl)
                 .password(null)
                 .passwordSet(false)
+                .lastLoginAt(now)
+                .lastSeenAt(now)
                 .build();
         log.info("Creating new Google user: {}", email);
-        return userRepository.save(newUser);
+        User created = userRepository.save(newUser);
+        userChangeOutbox.record(UserChangeType.GOOGLE_CREATED, created);
+        return created;
     }
 }
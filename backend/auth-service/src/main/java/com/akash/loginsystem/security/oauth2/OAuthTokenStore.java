@@ -1,17 +1,30 @@
 package com.akash.loginsystem.security.oauth2;
 
+import com.akash.loginsystem.config.AppProperties;
 import com.akash.loginsystem.dto.response.AuthResponse;
 import com.akash.loginsystem.dto.response.UserSummaryResponse;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.akash.loginsystem.redis.LocalTtlStore;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.security.AuthResponseCodec;
+import com.akash.loginsystem.security.random.SecureIdGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Redis-backed store for OAuth2 post-login token exchange.
@@ -22,9 +35,19 @@ import java.util.UUID;
  *
  * getAndDelete() is atomic — prevents two concurrent consumers from retrieving
  * the same code, eliminating the race condition present in the previous implementation.
+ *
+ * Values are encoded with {@link AuthResponseCodec} (compact binary) instead of JSON. Each handoff
+ * is exactly two commands — SET … EX on callback, GETDEL on exchange — so there is nothing
+ * left to pipeline. Per-command Redis latency is exported by Spring Boot's Lettuce metrics
+ * (lettuce.command.completion); this class adds end-to-end timers and the payload size.
+ *
+ * Degraded mode: all Redis calls go through {@link RedisCircuitBreaker}. When Redis fails or the
+ * circuit is open, codes are parked in a bounded local {@link LocalTtlStore} instead, with the
+ * same 30 s TTL and one-time-use semantics, under a code that was never sent to Redis. Such
+ * codes can only be exchanged on the pod that issued them — a login that needs sticky routing
+ * beats a login that fails outright.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OAuthTokenStore {
 
@@ -33,10 +56,50 @@ public class OAuthTokenStore {
 
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final SecureIdGenerator idGenerator;
+    private final int codeEntropyBytes;
+    private final LocalTtlStore fallbackStore;
+    private final Counter fallbackStores;
+    private final Timer storeTimer;
+    private final Timer consumeTimer;
+    private final DistributionSummary payloadSize;
+
+    public OAuthTokenStore(StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           RedisCircuitBreaker circuitBreaker,
+                           SecureIdGenerator idGenerator,
+                           AppProperties appProperties,
+                           MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.idGenerator = idGenerator;
+        this.codeEntropyBytes = appProperties.getTokens().getOauthCodeEntropyBytes();
+        this.fallbackStore = new LocalTtlStore(appProperties.getRedis().getFallbackMaxEntries());
+        this.fallbackStores = Counter.builder("oauth.code.fallback")
+                .description("OAuth codes parked in the local fallback store because Redis was unavailable")
+                .register(meterRegistry);
+        Gauge.builder("oauth.code.fallback.size", fallbackStore, LocalTtlStore::size)
+                .description("OAuth codes currently held in the local fallback store")
+                .register(meterRegistry);
+        this.storeTimer = Timer.builder("oauth.code.store")
+                .description("Encode + Redis SET of an OAuth one-time code")
+                .tag("operation", "store")
+                .register(meterRegistry);
+        this.consumeTimer = Timer.builder("oauth.code.store")
+                .description("Redis GETDEL + decode of an OAuth one-time code")
+                .tag("operation", "consume")
+                .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("oauth.code.payload")
+                .description("Encoded size of the value stored per OAuth code")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
 
     /**
-     * Internal serialization contract.
-     * Java records deserialize cleanly with Jackson without extra annotations.
+     * Legacy JSON contract — only read, for values written by pods running the previous
+     * release during a rolling deploy (codes live 30 s).
      */
     private record OAuthCodeData(
         String accessToken,
@@ -47,20 +110,27 @@ public class OAuthTokenStore {
 
     /** Stores the AuthResponse under a new opaque one-time code and returns that code. */
     public String store(AuthResponse response) {
-        String code = UUID.randomUUID().toString();
-        OAuthCodeData data = new OAuthCodeData(
-            response.getAccessToken(),
-            response.getRefreshToken(),
-            response.isRequiresPasswordSet(),
-            response.getUser()
-        );
-        try {
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(KEY_PREFIX + code, json, TTL);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("Failed to serialize OAuth code data", e);
-        }
-        return code;
+        return storeTimer.record(() -> {
+            String code = idGenerator.newId(codeEntropyBytes);
+            byte[] key = key(code);
+            byte[] value = AuthResponseCodec.encode(response);
+            payloadSize.record(value.length);
+            boolean stored = circuitBreaker.execute("SET", () -> redisTemplate.execute(
+                    (RedisCallback<Boolean>) connection -> connection.stringCommands()
+                            .set(key, value, Expiration.from(TTL), RedisStringCommands.SetOption.upsert())))
+                    .orElse(false);
+            if (stored) {
+                return code;
+            }
+            // A failed SET may still have been applied by Redis (e.g. a timeout after the write).
+            // Parked under a new code, so that possible Redis copy is unreachable and the login
+            // can only be exchanged once.
+            String fallbackCode = idGenerator.newId(codeEntropyBytes);
+            fallbackStore.put(fallbackCode, value, TTL);
+            fallbackStores.increment();
+            log.warn("Redis unavailable — OAuth code parked in local fallback store");
+            return fallbackCode;
+        });
     }
 
     /**
@@ -68,22 +138,45 @@ public class OAuthTokenStore {
      * Returns empty if the code is unknown, already consumed, or TTL-expired.
      */
     public Optional<AuthResponse> consume(String code) {
-        String json = redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + code);
-        if (json == null) {
-            log.warn("OAuth code not found or already consumed: {}", code);
-            return Optional.empty();
-        }
-        try {
-            OAuthCodeData data = objectMapper.readValue(json, OAuthCodeData.class);
-            return Optional.of(AuthResponse.builder()
-                .accessToken(data.accessToken())
-                .refreshToken(data.refreshToken())
-                .requiresPasswordSet(data.requiresPasswordSet())
-                .user(data.user())
-                .build());
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize OAuth code data for code: {}", code, e);
-            return Optional.empty();
-        }
+        return consumeTimer.record(() -> {
+            // Degraded-mode codes never reach Redis, so a local hit is authoritative
+            byte[] value = fallbackStore.getAndDelete(code);
+            if (value == null) {
+                value = circuitBreaker.execute("GETDEL", () -> redisTemplate.execute(
+                        (RedisCallback<byte[]>) connection -> connection.stringCommands().getDel(key(code))))
+                        .orElse(null);
+            }
+            if (value == null) {
+                log.warn("OAuth code not found or already consumed: {}", code);
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(AuthResponseCodec.isBinary(value)
+                        ? AuthResponseCodec.decode(value)
+                        : decodeLegacyJson(value));
+            } catch (IOException e) {
+                log.error("Failed to decode OAuth code data for code: {}", code, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    void purgeExpiredFallbackCodes() {
+        fallbackStore.purgeExpired();
+    }
+
+    private AuthResponse decodeLegacyJson(byte[] value) throws IOException {
+        OAuthCodeData data = objectMapper.readValue(value, OAuthCodeData.class);
+        return AuthResponse.builder()
+            .accessToken(data.accessToken())
+            .refreshToken(data.refreshToken())
+            .requiresPasswordSet(data.requiresPasswordSet())
+            .user(data.user())
+            .build();
+    }
+
+    private static byte[] key(String code) {
+        return (KEY_PREFIX + code).getBytes(StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,37 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.akash.loginsystem.entity.User;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import java.util.Map;
+
+/**
+ * OAuth2UserPrincipal for OIDC logins — the user attributes are the verified ID token claims.
+ * No UserInfo response is fetched, so {@link #getUserInfo()} is always null.
+ */
+public class OidcUserPrincipal extends OAuth2UserPrincipal implements OidcUser {
+
+    private final OidcIdToken idToken;
+
+    public OidcUserPrincipal(User user, OidcIdToken idToken) {
+        super(user, idToken.getClaims());
+        this.idToken = idToken;
+    }
+
+    @Override
+    public Map<String, Object> getClaims() {
+        return getAttributes();
+    }
+
+    @Override
+    public OidcUserInfo getUserInfo() {
+        return null;
+    }
+
+    @Override
+    public OidcIdToken getIdToken() {
+        return idToken;
+    }
+}
@@ -0,0 +1,124 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.security.random.SecureIdGenerator;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Keeps the pending OAuth2 authorization request in Redis instead of the HttpSession. Any
+ * node can complete the callback, and GETDEL on removal makes each request single-use.
+ *
+ * The request is stored under a random id held in an HttpOnly, SameSite=Lax cookie — not
+ * under its `state` — and the callback's `state` must match the stored one. A state alone
+ * proves nothing about the browser: an attacker could start a login, then hand the victim
+ * the callback URL and sign them in to the attacker's account (login CSRF). Only the browser
+ * that started the flow holds the cookie.
+ *
+ * Calls go through {@link RedisCircuitBreaker}; while Redis is unavailable the callback finds
+ * no pending request and the login fails fast — use the cookie store if that is unacceptable.
+ */
+@RequiredArgsConstructor
+public class RedisAuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "oauth2_auth_request_id";
+
+    private static final Duration TTL = Duration.ofMinutes(3);
+    private static final String KEY_PREFIX = "oauth2:authreq:";
+    private static final int ID_BYTES = 32;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final SecureIdGenerator idGenerator;
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        byte[] key = key(request);
+        if (key == null) {
+            return null;
+        }
+        return circuitBreaker.execute("GET", () -> redisTemplate.execute(
+                        (RedisCallback<byte[]>) connection -> connection.stringCommands().get(key)))
+                .map(AuthorizationRequestSerializer::deserialize)
+                .filter(stored -> matchesState(stored, request))
+                .orElse(null);
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            removeAuthorizationRequest(request, response);
+            return;
+        }
+        String id = idGenerator.newId(ID_BYTES);
+        byte[] key = (KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        byte[] value = AuthorizationRequestSerializer.serialize(authorizationRequest);
+        circuitBreaker.execute("SET", () -> redisTemplate.execute(
+                (RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .set(key, value, Expiration.from(TTL), RedisStringCommands.SetOption.upsert())));
+        writeCookie(response, id, TTL);
+    }
+
+    /** Single-use: the entry is deleted even if the state does not match. */
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        byte[] key = key(request);
+        if (key == null) {
+            return null;
+        }
+        writeCookie(response, "", Duration.ZERO);
+        return circuitBreaker.execute("GETDEL", () -> redisTemplate.execute(
+                        (RedisCallback<byte[]>) connection -> connection.stringCommands().getDel(key)))
+                .map(AuthorizationRequestSerializer::deserialize)
+                .filter(stored -> matchesState(stored, request))
+                .orElse(null);
+    }
+
+    // ── Internal ──────────────────────────────────────────────────────────────
+
+    /** Null unless the request carries both a state parameter and the id cookie. */
+    private static byte[] key(HttpServletRequest request) {
+        if (request.getParameter(OAuth2ParameterNames.STATE) == null || request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return (KEY_PREFIX + cookie.getValue()).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchesState(OAuth2AuthorizationRequest stored, HttpServletRequest request) {
+        return stored.getState().equals(request.getParameter(OAuth2ParameterNames.STATE));
+    }
+
+    private static void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+                .httpOnly(true)
+                .secure(true)
+                .path("/")
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
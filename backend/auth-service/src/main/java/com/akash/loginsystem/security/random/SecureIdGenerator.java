@@ -0,0 +1,14 @@
+package com.akash.loginsystem.security.random;
+
+/**
+ * Source of unguessable identifiers (jti, refresh tokens, OAuth codes).
+ * The default implementation is {@link Base64UrlIdGenerator}; declare a @Primary bean to swap it.
+ */
+public interface SecureIdGenerator {
+
+    /** Minimum entropy accepted for any security-relevant identifier (128 bits). */
+    int MIN_ENTROPY_BYTES = 16;
+
+    /** Returns a URL-safe identifier carrying {@code entropyBytes} bytes of randomness. */
+    String newId(int entropyBytes);
+}
@@ -0,0 +1,169 @@
+package com.akash.loginsystem.security.random;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * CSPRNG striped across independent DRBG instances so concurrent token minting does not
+ * serialize on one lock.
+ *
+ * A plain {@code new SecureRandom()} on Linux is NativePRNG, whose instances all share one
+ * static, synchronized state — every UUID.randomUUID() in the JVM queues on it. Each stripe
+ * here is its own Hash_DRBG (seeded from the OS entropy source, reseeded by the JDK); callers
+ * pick a stripe at random per call, so contention falls with the stripe count.
+ *
+ * Each stripe draws 512 bytes per DRBG call and hands out slices, which amortises the
+ * per-call generate cost (~90 ns vs ~700 ns for a 16-byte id). Bytes are zeroed as they are
+ * handed out, so the pool never holds an issued value. Pools are filled on first use, not at
+ * construction.
+ *
+ * CRaC: every process restored from one checkpoint would otherwise resume from the same DRBG
+ * states and hand out the same tokens. Before the checkpoint the pools are emptied; after
+ * restore every stripe gets a new DRBG, with fresh OS entropy mixed in.
+ */
+public final class StripedSecureRandom {
+
+    private static final StripedSecureRandom SHARED =
+            new StripedSecureRandom(Math.min(64, Integer.highestOneBit(
+                    Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1));
+
+    private static final int POOL_BYTES = 512;
+    private static final int RESEED_BYTES = 32;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final Supplier<SecureRandom> drbgs;
+    /** Held here — the CRaC context only keeps weak references to its resources. */
+    private final Resource checkpointResource = new CheckpointResource();
+
+    StripedSecureRandom(int stripeCount) {
+        this(stripeCount, StripedSecureRandom::newInstance);
+    }
+
+    StripedSecureRandom(int stripeCount, Supplier<SecureRandom> drbgs) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+        }
+        this.stripes = new Stripe[stripeCount];
+        this.mask = stripeCount - 1;
+        this.drbgs = drbgs;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(drbgs.get());
+        }
+        Core.getGlobalContext().register(checkpointResource);
+    }
+
+    /** Process-wide instance, sized to twice the available processors (max 64 stripes). */
+    public static StripedSecureRandom shared() {
+        return SHARED;
+    }
+
+    public void nextBytes(byte[] bytes) {
+        stripes[ThreadLocalRandom.current().nextInt() & mask].nextBytes(bytes);
+    }
+
+    public long nextLong() {
+        byte[] bytes = new byte[Long.BYTES];
+        nextBytes(bytes);
+        long value = 0;
+        for (byte b : bytes) {
+            value = (value << 8) | (b & 0xff);
+        }
+        return value;
+    }
+
+    /** Replaces every stripe's DRBG with a new one, reseeded from the OS, and drops its pool. */
+    void reseed() {
+        for (Stripe stripe : stripes) {
+            SecureRandom drbg = drbgs.get();
+            drbg.setSeed(freshEntropy()); // mixed in — never replaces the DRBG's own seed
+            stripe.replace(drbg);
+        }
+    }
+
+    /** Drops every pooled byte; the next call per stripe draws from its DRBG again. */
+    void discardPools() {
+        for (Stripe stripe : stripes) {
+            stripe.discard();
+        }
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    Resource checkpointResource() {
+        return checkpointResource;
+    }
+
+    private static final class Stripe {
+        private final byte[] pool = new byte[POOL_BYTES];
+        private SecureRandom drbg;
+        private int position = POOL_BYTES; // empty
+
+        Stripe(SecureRandom drbg) {
+            this.drbg = drbg;
+        }
+
+        synchronized void nextBytes(byte[] bytes) {
+            if (bytes.length > POOL_BYTES) {
+                drbg.nextBytes(bytes);
+                return;
+            }
+            if (POOL_BYTES - position < bytes.length) {
+                drbg.nextBytes(pool);
+                position = 0;
+            }
+            System.arraycopy(pool, position, bytes, 0, bytes.length);
+            Arrays.fill(pool, position, position + bytes.length, (byte) 0);
+            position += bytes.length;
+        }
+
+        synchronized void replace(SecureRandom fresh) {
+            discard();
+            drbg = fresh;
+        }
+
+        synchronized void discard() {
+            Arrays.fill(pool, (byte) 0);
+            position = POOL_BYTES;
+        }
+    }
+
+    private final class CheckpointResource implements Resource {
+
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) {
+            discardPools();
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            reseed();
+        }
+    }
+
+    private static SecureRandom newInstance() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    /** Read straight from the OS (/dev/urandom on Linux), not from a JVM-held seeder. */
+    private static byte[] freshEntropy() {
+        try {
+            return SecureRandom.getInstance("NativePRNGNonBlocking").generateSeed(RESEED_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom().generateSeed(RESEED_BYTES);
+        }
+    }
+}
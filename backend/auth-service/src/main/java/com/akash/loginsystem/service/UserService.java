@@ -2,17 +2,36 @@ package com.akash.loginsystem.service;
 
 import com.akash.loginsystem.dto.request.UpdateProfileRequest;
 import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     /** Returns the full profile of the authenticated user. */
     UserResponse getMe(UUID userId);
 
+    /** Current profile ETag if known without loading the user — for conditional GETs. */
+    Optional<String> cachedETag(UUID userId);
+
     /**
      * Updates editable profile fields (name, phone, address).
      * Null fields in the request leave existing values unchanged.
+     * Throws ProfileVersionConflictException if request.version is stale, and
+     * ProfilePreconditionFailedException if ifMatch (an If-Match header, may be null) does not
+     * match the current profile ETag.
+     */
+    UserResponse updateMe(UUID userId, UpdateProfileRequest request, String ifMatch);
+
+    /**
+     * Summaries of the given users for an internal service caller, read in chunks of one
+     * WHERE id IN (...) query each and handed to {@code sink} chunk by chunk so the response
+     * can be streamed. Duplicate and unknown ids are skipped; returns the number found.
+     * Throws UserBatchTooLargeException above app.internal-api.max-batch-ids distinct ids.
      */
-    UserResponse updateMe(UUID userId, UpdateProfileRequest request);
+    int streamSummaries(String caller, Collection<UUID> ids, Consumer<List<UserSummaryResponse>> sink);
 }
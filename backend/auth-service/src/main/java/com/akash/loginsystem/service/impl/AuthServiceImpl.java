@@ -1,6 +1,8 @@
 package com.akash.loginsystem.service.impl;
 
+import com.akash.loginsystem.activity.ActivityTracker;
 import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.datasource.ReadYourWritesTracker;
 import com.akash.loginsystem.dto.request.LoginRequest;
 import com.akash.loginsystem.dto.request.OAuthCodeRequest;
 import com.akash.loginsystem.dto.request.RefreshRequest;
@@ -15,10 +17,14 @@ import com.akash.loginsystem.exception.OAuthCodeExpiredException;
 import com.akash.loginsystem.exception.PasswordAlreadySetException;
 import com.akash.loginsystem.exception.PasswordMismatchException;
 import com.akash.loginsystem.exception.UserAlreadyExistsException;
+import com.akash.loginsystem.lookup.CoalescedLookups;
 import com.akash.loginsystem.model.AuthProvider;
+import com.akash.loginsystem.model.UserChangeType;
+import com.akash.loginsystem.outbox.UserChangeOutbox;
 import com.akash.loginsystem.repository.RefreshTokenRepository;
 import com.akash.loginsystem.repository.UserRepository;
 import com.akash.loginsystem.security.JwtProvider;
+import com.akash.loginsystem.security.RefreshGraceStore;
 import com.akash.loginsystem.security.oauth2.OAuthTokenStore;
 import com.akash.loginsystem.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -26,9 +32,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -42,6 +50,12 @@ public class AuthServiceImpl implements AuthService {
     private final JwtProvider jwtProvider;
     private final AppProperties appProperties;
     private final OAuthTokenStore oAuthTokenStore;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final CoalescedLookups lookups;
+    private final RefreshGraceStore refreshGraceStore;
+    private final ActivityTracker activityTracker;
+    private final UserChangeOutbox userChangeOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     // ── Register ─────────────────────────────────────────────────────────────
 
@@ -55,6 +69,7 @@ public class AuthServiceImpl implements AuthService {
             throw new UserAlreadyExistsException(email);
         }
 
+        Instant now = Instant.now();
         User user = User.builder()
                 .email(email)
                 .name(request.getName())
@@ -68,9 +83,13 @@ public class AuthServiceImpl implements AuthService {
                 .state(request.getState())
                 .zipCode(request.getZipCode())
                 .country(request.getCountry())
+                .lastLoginAt(now)
+                .lastSeenAt(now)
                 .build();
 
         userRepository.save(user);
+        userChangeOutbox.record(UserChangeType.REGISTERED, user);
+        readYourWritesTracker.recordWrite(user.getId());
         log.info("Registered new LOCAL user: {}", user.getEmail());
 
         return issueTokens(user);
@@ -82,14 +101,16 @@ public class AuthServiceImpl implements AuthService {
      * FIX ISSUE-2: When passwordSet=false, NO token is issued.
      * The user only has a Google credential — they must re-authenticate via Google OAuth
      * to receive a token, then call /set-password to complete account linking.
+     * Read-write: issueTokens persists the new refresh token (a read-only transaction
+     * is never flushed, and may be routed to a replica).
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public AuthResponse login(LoginRequest request) {
         // H-3: Normalize email to lowercase
         String email = request.getEmail().toLowerCase(Locale.ROOT);
 
-        User user = userRepository.findByEmail(email)
+        User user = lookups.findUserByEmail(email)
                 .orElseThrow(InvalidCredentialsException::new);
 
         // Gate: no password has ever been set — this account requires OAuth-first flow.
@@ -108,6 +129,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         log.info("Successful login for: {}", user.getEmail());
+        activityTracker.recordLogin(user.getId());
         return issueTokens(user);
     }
 
@@ -137,6 +159,8 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setPasswordSet(true);
         userRepository.save(user);
+        userChangeOutbox.record(UserChangeType.PASSWORD_SET, user);
+        readYourWritesTracker.recordWrite(userId);
 
         log.info("Password set for user: {}", user.getEmail());
         return issueTokens(user);
@@ -152,6 +176,9 @@ public class AuthServiceImpl implements AuthService {
     @Transactional
     public AuthResponse completeOAuthLogin(User user) {
         log.info("Completing OAuth login for: {}", user.getEmail());
+        // OAuth2UserService may have just created or linked this user
+        readYourWritesTracker.recordWrite(user.getId());
+        activityTracker.recordLogin(user.getId());
         return issueTokens(user);
     }
 
@@ -181,6 +208,7 @@ public class AuthServiceImpl implements AuthService {
     public void logout(UUID userId) {
         User user = userRepository.getReferenceById(userId);
         refreshTokenRepository.deleteByUser(user);
+        userChangeOutbox.record(UserChangeType.SIGNED_OUT, userId);
         log.info("User logged out, refresh tokens revoked: {}", userId);
     }
 
@@ -190,31 +218,72 @@ public class AuthServiceImpl implements AuthService {
      * C-3 FIX: Atomic token rotation using deleteByTokenValue() instead of a non-atomic
      * find-then-delete pattern. If the delete returns 0 rows, the token was already
      * consumed by a concurrent request — prevents refresh token replay.
+     * Grace window: a token rotated moments ago (another tab won the race) is answered with
+     * the pair it was rotated into instead — see RefreshGraceStore. Outside the window, or
+     * once that pair has itself been replaced or revoked, it is a replay as before.
+     * Only a lost race waits for the winner's entry, and only after the rotating transaction
+     * has ended — no connection is held while polling. An unknown token costs one lookup.
      */
     @Override
-    @Transactional
     public AuthResponse refresh(RefreshRequest request) {
-        // Fetch before deletion to read expiry and user association
-        RefreshToken stored = refreshTokenRepository.findByToken(request.getRefreshToken())
-                .orElseThrow(InvalidCredentialsException::new);
+        String token = request.getRefreshToken();
+        Rotation rotation = transactionTemplate.execute(status -> rotate(token));
+        if (rotation.issued() != null) {
+            return rotation.issued();
+        }
+        if (rotation.raceLostBy() == null) {
+            return graceReplay(refreshGraceStore.find(token)).orElseThrow(InvalidCredentialsException::new);
+        }
+        Optional<AuthResponse> replay = graceReplay(refreshGraceStore.await(token));
+        if (replay.isPresent()) {
+            log.info("Refresh token reused within grace window for: {}", rotation.raceLostBy());
+            return replay.get();
+        }
+        log.warn("Refresh token replay attempt detected for user: {}", rotation.raceLostBy());
+        throw new InvalidCredentialsException();
+    }
+
+    private Rotation rotate(String token) {
+        // Fetch before deletion to read expiry and user association (shared with concurrent refreshes
+        // of the same token — only one of them can win the delete below)
+        Optional<RefreshToken> found = lookups.findRefreshToken(token);
+        if (found.isEmpty()) {
+            return new Rotation(null, null);
+        }
+        RefreshToken stored = found.get();
 
         if (Instant.now().isAfter(stored.getExpiresAt())) {
             // Delete the expired token to prevent orphaned rows, then fail
-            refreshTokenRepository.deleteByTokenValue(request.getRefreshToken());
+            refreshTokenRepository.deleteByTokenValue(token);
             log.warn("Expired refresh token used for user: {}", stored.getUser().getEmail());
             throw new InvalidCredentialsException();
         }
 
         // Atomically consume the token — if 0 rows deleted, a concurrent request already used it
-        int deleted = refreshTokenRepository.deleteByTokenValue(request.getRefreshToken());
+        int deleted = refreshTokenRepository.deleteByTokenValue(token);
         if (deleted == 0) {
-            log.warn("Refresh token replay attempt detected for user: {}", stored.getUser().getEmail());
-            throw new InvalidCredentialsException();
+            return new Rotation(null, stored.getUser().getEmail());
         }
 
         User user = stored.getUser();
         log.info("Refresh token rotated for: {}", user.getEmail());
-        return issueTokens(user);
+        activityTracker.recordSeen(user.getId());
+        AuthResponse issued = issueTokens(user);
+        refreshGraceStore.rememberAfterCommit(token, issued);
+        return new Rotation(issued, null);
+    }
+
+    /**
+     * The pair the token was rotated into — only while that pair is still the live session.
+     * Checked in a read-write transaction so it reads the primary, not a lagging replica.
+     */
+    private Optional<AuthResponse> graceReplay(Optional<AuthResponse> remembered) {
+        return remembered.filter(issued -> Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> refreshTokenRepository.existsByToken(issued.getRefreshToken()))));
+    }
+
+    /** The new pair, or — if the token was not consumed — who lost the race for it (null: unknown token). */
+    private record Rotation(AuthResponse issued, String raceLostBy) {
     }
 
     // ── Internal ──────────────────────────────────────────────────────────────
@@ -223,17 +292,21 @@ public class AuthServiceImpl implements AuthService {
      * Issues a new access + refresh token pair.
      * M-5: Calls deleteByUser() first — enforces the single active session policy.
      * Any existing refresh token (from another device or prior login) is invalidated.
+     * The user may come from a coalesced lookup and be detached; the token row points at
+     * a reference from this persistence context instead.
      */
     private AuthResponse issueTokens(User user) {
+        User owner = userRepository.getReferenceById(user.getId());
+
         // Single-session enforcement: remove any pre-existing refresh token before issuing a new one
-        refreshTokenRepository.deleteByUser(user);
+        refreshTokenRepository.deleteByUser(owner);
 
         String accessToken = jwtProvider.generateAccessToken(user);
         String refreshTokenValue = jwtProvider.generateRefreshTokenValue();
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(refreshTokenValue)
-                .user(user)
+                .user(owner)
                 .expiresAt(Instant.now().plusMillis(appProperties.getJwt().getRefreshExpiryMs()))
                 .build();
         refreshTokenRepository.save(refreshToken);
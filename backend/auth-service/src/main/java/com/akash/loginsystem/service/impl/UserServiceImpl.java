@@ -1,49 +1,234 @@
 package com.akash.loginsystem.service.impl;
 
+import com.akash.loginsystem.cache.ProfileETagStore;
+import com.akash.loginsystem.cache.UserCacheInvalidator;
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.datasource.ReadYourWritesTracker;
+import com.akash.loginsystem.datasource.RoutingDataSource;
 import com.akash.loginsystem.dto.request.UpdateProfileRequest;
 import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
 import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.exception.ProfilePreconditionFailedException;
+import com.akash.loginsystem.exception.ProfileVersionConflictException;
+import com.akash.loginsystem.exception.UserBatchTooLargeException;
+import com.akash.loginsystem.model.UserChangeType;
+import com.akash.loginsystem.outbox.UserChangeOutbox;
 import com.akash.loginsystem.repository.UserRepository;
 import com.akash.loginsystem.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    /** Ids per IN list — padded by Hibernate to a power of two, so few distinct statements. */
+    private static final int SUMMARY_CHUNK_SIZE = 512;
+
     private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ProfileETagStore profileETagStore;
+    private final UserChangeOutbox userChangeOutbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<UserCacheInvalidator> cacheInvalidator;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponse getMe(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        // A lagging replica may still hold an older row — only a primary read fills in the stamp
+        if (readFromPrimary()) {
+            profileETagStore.rememberIfAbsent(userId, user.getVersion());
+        }
         return UserResponse.from(user);
     }
 
+    @Override
+    public Optional<String> cachedETag(UUID userId) {
+        return profileETagStore.current(userId);
+    }
+
+    /**
+     * One guarded UPDATE, no read before it: only the fields present in the request are set,
+     * the version is bumped, and the WHERE clause carries the expected version (If-Match
+     * and/or body version) plus "some present field differs". Nothing is written when the
+     * request changes nothing. Plain JDBC, as for ActivityTracker's picture updates: a bulk
+     * JPQL statement would evict the whole users cache region, this evicts one entry.
+     *
+     * The updated row is then read once, in the same transaction on the primary, for the
+     * response and the outbox snapshot. Zero rows updated is classified from that read:
+     * missing user, stale If-Match (412), stale body version (409), or no change.
+     */
     @Override
     @Transactional
-    public UserResponse updateMe(UUID userId, UpdateProfileRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+    public UserResponse updateMe(UUID userId, UpdateProfileRequest request, String ifMatch) {
+        Long ifMatchVersion = null;
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            ifMatchVersion = ProfileETagStore.versionOf(userId, ifMatch.trim())
+                    .orElseThrow(ProfilePreconditionFailedException::new);
+        }
 
-        if (request.name() != null)            user.setName(request.name());
-        if (request.phoneCountryCode() != null) user.setPhoneCountryCode(request.phoneCountryCode());
-        if (request.phoneNumber() != null)      user.setPhoneNumber(request.phoneNumber());
-        if (request.addressLine1() != null)     user.setAddressLine1(request.addressLine1());
-        if (request.city() != null)             user.setCity(request.city());
-        if (request.state() != null)            user.setState(request.state());
-        if (request.zipCode() != null)          user.setZipCode(request.zipCode());
-        if (request.country() != null)          user.setCountry(request.country());
+        Map<String, String> fields = new LinkedHashMap<>();
+        present(fields, "name",               request.name());
+        present(fields, "phone_country_code", request.phoneCountryCode());
+        present(fields, "phone_number",       request.phoneNumber());
+        present(fields, "address_line1",      request.addressLine1());
+        present(fields, "city",               request.city());
+        present(fields, "state",              request.state());
+        present(fields, "zip_code",           request.zipCode());
+        present(fields, "country",            request.country());
 
-        userRepository.save(user);
+        int updated = fields.isEmpty() ? 0 : update(userId, fields, ifMatchVersion, request.version());
+
+        if (updated == 0) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+            if (ifMatchVersion != null && ifMatchVersion != user.getVersion()) {
+                throw new ProfilePreconditionFailedException();
+            }
+            if (request.version() != null && request.version() != user.getVersion()) {
+                throw new ProfileVersionConflictException();
+            }
+            return UserResponse.from(user);
+        }
+
+        // Until the commit, readers must not fill in the stamp of the row they can still see
+        profileETagStore.markPending(userId);
+        // Evicted first so the snapshot is read from the row just updated
+        entityManagerFactory.getCache().evict(User.class, userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + userId));
+        userChangeOutbox.record(UserChangeType.PROFILE_UPDATED, user);
+        readYourWritesTracker.recordWrite(userId);
+        announceAfterCommit(userId, user.getVersion());
         log.info("Updated profile for user: {}", userId);
         return UserResponse.from(user);
     }
+
+    /**
+     * Not one transaction: each chunk is its own read-only query (routed to a replica when
+     * configured), so a large batch never holds a connection while the response is written.
+     * Records users.batch (duration), users.batch.requested and users.batch.found per caller.
+     */
+    @Override
+    public int streamSummaries(String caller, Collection<UUID> ids, Consumer<List<UserSummaryResponse>> sink) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int max = appProperties.getInternalApi().getMaxBatchIds();
+        if (distinct.size() > max) {
+            throw new UserBatchTooLargeException(max);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int found = 0;
+        for (int from = 0; from < distinct.size(); from += SUMMARY_CHUNK_SIZE) {
+            List<UserSummaryResponse> chunk = userRepository.findSummariesByIdIn(
+                    distinct.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, distinct.size())));
+            found += chunk.size();
+            sink.accept(chunk);
+        }
+        sample.stop(Timer.builder("users.batch")
+                .description("Batch user summary lookups by internal callers")
+                .tag("caller", caller)
+                .register(meterRegistry));
+        DistributionSummary.builder("users.batch.requested")
+                .description("Distinct ids asked for per batch lookup")
+                .tag("caller", caller)
+                .register(meterRegistry)
+                .record(distinct.size());
+        DistributionSummary.builder("users.batch.found")
+                .description("Users returned per batch lookup")
+                .tag("caller", caller)
+                .register(meterRegistry)
+                .record(found);
+        return found;
+    }
+
+    private int update(UUID userId, Map<String, String> fields, Long ifMatchVersion, Long bodyVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        fields.keySet().forEach(column -> sql.append(column).append(" = ?, "));
+        sql.append("version = version + 1, updated_at = ? WHERE id = ?");
+        if (ifMatchVersion != null) {
+            sql.append(" AND version = ?");
+        }
+        if (bodyVersion != null) {
+            sql.append(" AND version = ?");
+        }
+        sql.append(fields.keySet().stream()
+                .map(column -> column + " IS DISTINCT FROM ?")
+                .collect(Collectors.joining(" OR ", " AND (", ")")));
+
+        return jdbcTemplate.update(sql.toString(), ps -> {
+            int index = 1;
+            for (String value : fields.values()) {
+                ps.setString(index++, value);
+            }
+            ps.setObject(index++, OffsetDateTime.now(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(index++, userId);
+            if (ifMatchVersion != null) {
+                ps.setLong(index++, ifMatchVersion);
+            }
+            if (bodyVersion != null) {
+                ps.setLong(index++, bodyVersion);
+            }
+            for (String value : fields.values()) {
+                ps.setString(index++, value);
+            }
+        });
+    }
+
+    /** What Hibernate's post-commit listeners would have done for an entity update. */
+    private void announceAfterCommit(UUID userId, long version) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                profileETagStore.remember(userId, version);
+                entityManagerFactory.getCache().evict(User.class, userId);
+                UserCacheInvalidator invalidator = cacheInvalidator.getIfAvailable();
+                if (invalidator != null) {
+                    invalidator.publishEviction(userId);
+                }
+            }
+        });
+    }
+
+    /** True when no replicas are configured or this request is pinned to the primary. */
+    private boolean readFromPrimary() {
+        return appProperties.getDatasource().getReplicaUrls().isEmpty() || RoutingDataSource.isPinnedToPrimary();
+    }
+
+    private static void present(Map<String, String> fields, String column, String value) {
+        if (value != null) {
+            fields.put(column, value);
+        }
+    }
 }
@@ -0,0 +1,225 @@
+package com.akash.loginsystem.startup;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.dto.request.LoginRequest;
+import com.akash.loginsystem.dto.request.RegisterRequest;
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.model.AuthProvider;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.security.JwtAuthFilter;
+import com.akash.loginsystem.security.JwtProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.NativeDetector;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * JIT warm-up before readiness. Spring Boot only moves readiness to ACCEPTING_TRAFFIC after
+ * every ApplicationRunner has returned, so /actuator/health/readiness stays OUT_OF_SERVICE
+ * while this pushes synthetic traffic through the hot paths and C2 compiles them:
+ *
+ * - tokens:        JwtProvider sign + verify (AccessTokenCodec, HMAC, id generator)
+ * - filter:        JwtAuthFilter with a bearer token of a random, non-existent user. Each
+ *                  request is one primary-key miss on users, so this stays a few dozen
+ *                  requests; token verification itself is warmed by the tokens phase
+ * - serialization: auth/profile DTOs written and request bodies read with the app ObjectMapper
+ * - passwords:     BCrypt encode + match of a throwaway password
+ * - redis:         PINGs through the circuit breaker — Lettuce connects lazily, and its first
+ *                  connection otherwise lands on a user request (~1 s)
+ *
+ * Budgets are app.warm-up.* (WARMUP_*); max-duration caps the total. Each phase is logged
+ * and recorded as startup.warmup{phase}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JitWarmUp implements ApplicationRunner {
+
+    private final AppProperties appProperties;
+    private final JwtProvider jwtProvider;
+    private final JwtAuthFilter jwtAuthFilter;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    /** Results are folded in here so the JIT cannot discard the work as dead code. */
+    private long sink;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AppProperties.WarmUp config = appProperties.getWarmUp();
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (NativeDetector.inNativeImage()) {
+            // Compiled ahead of time: no JIT to warm, and the synthetic request proxies below
+            // are not registered for the native image
+            log.info("JIT warm-up skipped in a native image");
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + config.getMaxDuration().toNanos();
+
+        User user = syntheticUser();
+        phase("tokens", config.getTokenIterations(), deadline, i -> signAndVerify(user));
+        String bearer = "Bearer " + jwtProvider.generateAccessToken(user);
+        phase("filter", config.getFilterIterations(), deadline, i -> filter(bearer));
+        ObjectWriter authWriter = objectMapper.writerFor(AuthResponse.class);
+        ObjectWriter profileWriter = objectMapper.writerFor(UserResponse.class);
+        ObjectReader loginReader = objectMapper.readerFor(LoginRequest.class);
+        ObjectReader registerReader = objectMapper.readerFor(RegisterRequest.class);
+        phase("serialization", config.getSerializationIterations(), deadline,
+                i -> serialize(user, authWriter, profileWriter, loginReader, registerReader));
+        phase("passwords", config.getPasswordHashes(), deadline, i -> hashPassword());
+        phase("redis", config.getRedisRoundTrips(), deadline, i -> ping());
+
+        log.info("JIT warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void phase(String name, int iterations, long deadline, IntConsumer body) {
+        long start = System.nanoTime();
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            body.accept(done++);
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("startup.warmup")
+                .description("Time spent in each JIT warm-up phase before readiness")
+                .tag("phase", name)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (done < iterations) {
+            log.warn("JIT warm-up {}: cut short by max-duration after {}/{} iterations ({} ms)",
+                    name, done, iterations, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } else {
+            log.info("JIT warm-up {}: {} iterations in {} ms",
+                    name, done, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private void signAndVerify(User user) {
+        String token = jwtProvider.generateAccessToken(user);
+        if (!user.getId().toString().equals(jwtProvider.verifiedUserId(token))) {
+            throw new IllegalStateException("Warm-up access token failed verification");
+        }
+        sink += token.length() + jwtProvider.generateRefreshTokenValue().length();
+    }
+
+    private void filter(String bearer) {
+        HttpServletRequest request = syntheticRequest(bearer);
+        HttpServletResponse response = noOp(HttpServletResponse.class);
+        FilterChain chain = (req, res) -> sink++;
+        try {
+            jwtAuthFilter.doFilter(request, response, chain);
+        } catch (UsernameNotFoundException expected) {
+            sink++; // the synthetic user does not exist
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up request failed in JwtAuthFilter", e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void serialize(User user, ObjectWriter authWriter, ObjectWriter profileWriter,
+                           ObjectReader loginReader, ObjectReader registerReader) {
+        try {
+            AuthResponse auth = AuthResponse.builder()
+                    .accessToken("warm-up")
+                    .user(UserSummaryResponse.from(user))
+                    .build();
+            sink += authWriter.writeValueAsBytes(auth).length;
+            sink += profileWriter.writeValueAsBytes(UserResponse.from(user)).length;
+            LoginRequest login = loginReader.readValue(
+                    "{\"email\":\"warm-up@example.invalid\",\"password\":\"warm-up-password\"}");
+            RegisterRequest register = registerReader.readValue(
+                    "{\"name\":\"Warm Up\",\"email\":\"warm-up@example.invalid\",\"password\":\"warm-up-password\","
+                    + "\"city\":\"Nowhere\",\"country\":\"Nowhere\"}");
+            sink += login.getEmail().length() + register.getName().length();
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+
+    private void hashPassword() {
+        String password = UUID.randomUUID().toString();
+        if (!passwordEncoder.matches(password, passwordEncoder.encode(password))) {
+            throw new IllegalStateException("Warm-up password hash did not match");
+        }
+        sink++;
+    }
+
+    /** Best effort — with Redis down the breaker opens, exactly as it would for real traffic. */
+    private void ping() {
+        sink += circuitBreaker.execute("PING", () -> redisTemplate.execute((RedisCallback<String>) RedisConnection::ping))
+                .map(String::length)
+                .orElse(0);
+    }
+
+    /** Never persisted — a random v4 id cannot collide with the v7 ids of real rows. */
+    private static User syntheticUser() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("warm-up@example.invalid")
+                .name("Warm Up")
+                .provider(AuthProvider.LOCAL)
+                .passwordSet(true)
+                .build();
+    }
+
+    /** Just enough of a servlet request for OncePerRequestFilter and the authentication details. */
+    private static HttpServletRequest syntheticRequest(String authorization) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> HttpHeaders.AUTHORIZATION.equalsIgnoreCase((String) args[0]) ? authorization : null;
+                    case "getAttribute" -> attributes.get((String) args[0]);
+                    case "setAttribute" -> attributes.put((String) args[0], args[1]);
+                    case "removeAttribute" -> attributes.remove((String) args[0]);
+                    case "getDispatcherType" -> DispatcherType.REQUEST;
+                    case "getRemoteAddr" -> "127.0.0.1";
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static <T> T noOp(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> defaultValue(method.getReturnType())));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        return null;
+    }
+}
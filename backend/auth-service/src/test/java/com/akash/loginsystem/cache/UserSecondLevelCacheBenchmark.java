@@ -0,0 +1,122 @@
+package com.akash.loginsystem.cache;
+
+import com.akash.loginsystem.entity.User;
+import com.akash.loginsystem.model.AuthProvider;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User lookup by id (what JwtAuthFilter and /users/me do on every request) with the "users"
+ * second-level region on and off, over a uniform spread of ids. With more users than the
+ * region's 10k entries (application.conf) the hit rate falls accordingly; each trial prints
+ * the region's hit ratio. Plain Hibernate on in-memory H2, so a miss costs far less than a
+ * Postgres round trip would. Run by hand:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.cache.UserSecondLevelCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserSecondLevelCacheBenchmark {
+
+    @Param({"true", "false"})
+    public boolean l2;
+
+    @Param({"1000", "50000"})
+    public int users;
+
+    private SessionFactory sessionFactory;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:l2_" + l2 + "_" + users + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.generate_statistics", "true")
+                .setProperty("hibernate.session.events.log", "false")
+                .setProperty("hibernate.cache.use_second_level_cache", String.valueOf(l2))
+                .setProperty("hibernate.cache.region.factory_class", "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .buildSessionFactory();
+
+        ids = new UUID[users];
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < users; i++) {
+                User user = User.builder()
+                        .email("user" + i + "@example.com")
+                        .name("User " + i)
+                        .provider(AuthProvider.LOCAL)
+                        .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3K4y3r0vG1YJkJc0b5QG9V2")
+                        .passwordSet(true)
+                        .build();
+                session.persist(user);
+                ids[i] = user.getId();
+                if (i % 50 == 49) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+        // Inserts put entries in the region; start every trial cold.
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (l2) {
+            CacheRegionStatistics region = sessionFactory.getStatistics().getDomainDataRegionStatistics("users");
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            System.out.printf("users region: hits=%d misses=%d hit ratio=%.3f%n",
+                    hits, misses, (double) hits / Math.max(1, hits + misses));
+        }
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public User findById() {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(User.class, id);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSecondLevelCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.model.AuthProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecompiledJsonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final PrecompiledJsonHttpMessageConverter converter = new PrecompiledJsonHttpMessageConverter(
+            objectMapper, AuthResponse.class, UserSummaryResponse.class, UserResponse.class);
+    private final MappingJackson2HttpMessageConverter jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+
+    @Test
+    void authResponseIsByteIdenticalToJackson() throws IOException {
+        UserSummaryResponse user = new UserSummaryResponse(UUID.randomUUID(), "ana@example.com",
+                "Ana \"Ñúñez\" ☃ <script>", AuthProvider.GOOGLE, true, null);
+
+        assertSameBytes(AuthResponse.builder()
+                .accessToken("header.payload.signature")
+                .refreshToken("never-serialized")
+                .requiresPasswordSet(true)
+                .user(user)
+                .build());
+        assertSameBytes(AuthResponse.builder().accessToken("a").build());
+    }
+
+    @Test
+    void userSummaryIsByteIdenticalToJackson() throws IOException {
+        assertSameBytes(new UserSummaryResponse(UUID.randomUUID(), "bo@example.com", "Bo",
+                AuthProvider.LOCAL, false, "https://example.com/p.png?a=1&b=é"));
+    }
+
+    @Test
+    void userResponseIsByteIdenticalToJackson() throws IOException {
+        assertSameBytes(UserResponse.builder()
+                .id(UUID.randomUUID())
+                .email("cy@example.com")
+                .name("Cy\ttab\nline")
+                .provider(AuthProvider.LOCAL)
+                .passwordSet(true)
+                .phoneCountryCode("+49")
+                .city("München")
+                .version(42)
+                .build());
+    }
+
+    @Test
+    void writesOnlyTheRegisteredTypesAndNeverReads() {
+        assertThat(converter.canWrite(AuthResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(UserResponse.class, null)).isTrue();
+        assertThat(converter.canWrite(String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(AuthResponse.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canRead(AuthResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private void assertSameBytes(Object value) throws IOException {
+        assertThat(write(converter, value)).isEqualTo(write(jackson, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] write(HttpMessageConverter<?> converter, Object value) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        ((HttpMessageConverter<Object>) converter).write(value, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,259 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.activity.ActivityTracker;
+import com.akash.loginsystem.datasource.ReadYourWritesTracker;
+import com.akash.loginsystem.http.ProviderHttpClients;
+import com.akash.loginsystem.security.CustomUserDetailsService;
+import com.akash.loginsystem.security.JwtAuthFilter;
+import com.akash.loginsystem.security.JwtProvider;
+import com.akash.loginsystem.security.ServiceKeyAuthFilter;
+import com.akash.loginsystem.security.oauth2.GoogleOidcUserService;
+import com.akash.loginsystem.security.oauth2.OAuth2SuccessHandler;
+import com.akash.loginsystem.security.oauth2.OAuth2UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The real SecurityConfig chains in front of stub endpoints, with the user-facing
+ * collaborators mocked: which chain handles a path, and which credential each one accepts.
+ */
+@SpringJUnitWebConfig({SecurityConfig.class, CorsConfig.class, SecurityConfigTest.TestBeans.class})
+class SecurityConfigTest {
+
+    private static final String SERVICE_KEY = "orders-secret";
+    private static final String USER_JWT = "user.jwt.token";
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        reset(jwtProvider, userDetailsService);
+        when(jwtProvider.verifiedUserId(USER_JWT)).thenReturn(USER_ID);
+        when(userDetailsService.loadUserById(USER_ID))
+                .thenReturn(User.withUsername(USER_ID).password("").roles("USER").build());
+        mvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void chainsAreMatchedInTheDocumentedOrder() {
+        assertThat(chainFor("GET", "/oauth2/authorization/google")).isEqualTo(0);
+        assertThat(chainFor("GET", "/login/oauth2/code/google")).isEqualTo(0);
+        // Under /api/v1/auth, not /oauth2 — the public chain, not oauth2Login
+        assertThat(chainFor("POST", "/api/v1/auth/oauth2/token")).isEqualTo(1);
+        assertThat(chainFor("POST", "/api/v1/auth/login")).isEqualTo(1);
+        assertThat(chainFor("GET", "/actuator/health/readiness")).isEqualTo(1);
+        assertThat(chainFor("POST", "/api/v1/users/batch")).isEqualTo(2);
+        assertThat(chainFor("GET", "/api/v1/users/me")).isEqualTo(3);
+        assertThat(chainFor("POST", "/api/v1/auth/logout")).isEqualTo(3);
+        assertThat(chainFor("GET", "/actuator/prometheus")).isEqualTo(3);
+    }
+
+    @Test
+    void internalChainAcceptsServiceKeys() throws Exception {
+        mvc.perform(post("/api/v1/users/batch").header(ServiceKeyAuthFilter.SERVICE_KEY_HEADER, SERVICE_KEY))
+                .andExpect(status().isOk())
+                .andExpect(content().string("orders"));
+    }
+
+    @Test
+    void internalChainRejectsUserJwts() throws Exception {
+        mvc.perform(post("/api/v1/users/batch").header("Authorization", "Bearer " + USER_JWT))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/v1/users/batch").header(ServiceKeyAuthFilter.SERVICE_KEY_HEADER, "wrong"))
+                .andExpect(status().isUnauthorized());
+
+        verify(jwtProvider, never()).verifiedUserId(anyString());
+    }
+
+    @Test
+    void apiChainAcceptsUserJwts() throws Exception {
+        mvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + USER_JWT))
+                .andExpect(status().isOk())
+                .andExpect(content().string(USER_ID));
+    }
+
+    @Test
+    void apiChainRejectsServiceKeys() throws Exception {
+        mvc.perform(get("/api/v1/users/me").header(ServiceKeyAuthFilter.SERVICE_KEY_HEADER, SERVICE_KEY))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/v1/users/me"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void publicChainNeitherRequiresNorParsesCredentials() throws Exception {
+        mvc.perform(post("/api/v1/auth/login").header("Authorization", "Bearer " + USER_JWT))
+                .andExpect(status().isOk())
+                .andExpect(content().string("anonymous"));
+        mvc.perform(post("/api/v1/auth/oauth2/token"))
+                .andExpect(status().isOk());
+
+        verify(jwtProvider, never()).verifiedUserId(anyString());
+    }
+
+    @Test
+    void oauth2ChainStartsTheProviderRedirect() throws Exception {
+        mvc.perform(get("/oauth2/authorization/google"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().string("Location", startsWith("https://accounts.google.com/o/oauth2/v2/auth")));
+    }
+
+    /** Index of the first chain in FilterChainProxy order that matches the request. */
+    private int chainFor(String method, String path) {
+        HttpServletRequest request = new MockHttpServletRequest(method, path);
+        List<SecurityFilterChain> chains = filterChainProxy.getFilterChains();
+        for (int i = 0; i < chains.size(); i++) {
+            if (chains.get(i).matches(request)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class TestBeans {
+
+        @Bean
+        AppProperties appProperties() {
+            AppProperties appProperties = new AppProperties();
+            appProperties.setFrontendUrl("http://localhost:3000");
+            appProperties.getInternalApi().setServiceKeys(List.of("orders:" + SERVICE_KEY));
+            return appProperties;
+        }
+
+        @Bean
+        JwtProvider jwtProvider() {
+            return mock(JwtProvider.class);
+        }
+
+        @Bean
+        CustomUserDetailsService customUserDetailsService() {
+            return mock(CustomUserDetailsService.class);
+        }
+
+        @Bean
+        JwtAuthFilter jwtAuthFilter(JwtProvider jwtProvider, CustomUserDetailsService userDetailsService) {
+            return new JwtAuthFilter(jwtProvider, userDetailsService,
+                    mock(ReadYourWritesTracker.class), mock(ActivityTracker.class));
+        }
+
+        @Bean
+        ServiceKeyAuthFilter serviceKeyAuthFilter(AppProperties appProperties) {
+            return new ServiceKeyAuthFilter(appProperties);
+        }
+
+        @Bean
+        InMemoryClientRegistrationRepository clientRegistrationRepository() {
+            return new InMemoryClientRegistrationRepository(CommonOAuth2Provider.GOOGLE.getBuilder("google")
+                    .clientId("client-id")
+                    .clientSecret("client-secret")
+                    .build());
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository() {
+            return mock(AuthorizationRequestRepository.class);
+        }
+
+        @Bean
+        ProviderHttpClients providerHttpClients() {
+            ProviderHttpClients clients = mock(ProviderHttpClients.class);
+            when(clients.token()).thenReturn(new RestTemplate());
+            return clients;
+        }
+
+        @Bean
+        OAuth2UserService oAuth2UserService() {
+            return mock(OAuth2UserService.class);
+        }
+
+        @Bean
+        GoogleOidcUserService googleOidcUserService() {
+            return mock(GoogleOidcUserService.class);
+        }
+
+        @Bean
+        OAuth2SuccessHandler oAuth2SuccessHandler() {
+            return mock(OAuth2SuccessHandler.class);
+        }
+
+        @Bean
+        StubEndpoints stubEndpoints() {
+            return new StubEndpoints();
+        }
+    }
+
+    /** Echoes the authenticated principal's name, or "anonymous". */
+    @RestController
+    static class StubEndpoints {
+
+        @PostMapping({"/api/v1/users/batch", "/api/v1/auth/login", "/api/v1/auth/oauth2/token"})
+        String post(Authentication authentication) {
+            return name(authentication);
+        }
+
+        @GetMapping("/api/v1/users/me")
+        String get(Authentication authentication) {
+            return name(authentication);
+        }
+
+        private static String name(Authentication authentication) {
+            return authentication != null ? authentication.getName() : "anonymous";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.akash.loginsystem.config;
+
+import com.akash.loginsystem.security.CustomUserDetailsService;
+import com.akash.loginsystem.security.JwtAuthFilter;
+import com.akash.loginsystem.security.JwtProvider;
+import com.akash.loginsystem.security.oauth2.OAuth2SuccessHandler;
+import com.akash.loginsystem.security.oauth2.OAuth2UserService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * One request through FilterChainProxy, ending in a no-op servlet: the split SecurityConfig
+ * chains against the single chain they replaced (SingleChain below, as it was before the
+ * split). Collaborators are SecurityConfigTest's mocks, so the JWT path costs a Mockito call
+ * rather than a signature check. The setup prints the filter count each path runs through.
+ * Run by hand:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.config.SecurityFilterChainBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String USER_JWT = "user.jwt.token";
+    private static final FilterChain SERVLET = (request, response) -> { };
+
+    @Param({"split", "single"})
+    public String chains;
+
+    private AnnotationConfigWebApplicationContext context;
+    private FilterChainProxy filterChainProxy;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(CorsConfig.class, SecurityConfigTest.TestBeans.class,
+                "split".equals(chains) ? SecurityConfig.class : SingleChain.class);
+        context.refresh();
+
+        String userId = UUID.randomUUID().toString();
+        when(context.getBean(JwtProvider.class).verifiedUserId(USER_JWT)).thenReturn(userId);
+        when(context.getBean(CustomUserDetailsService.class).loadUserById(userId))
+                .thenReturn(User.withUsername(userId).password("").roles("USER").build());
+        filterChainProxy = context.getBean(FilterChainProxy.class);
+
+        System.out.printf("filters: login=%d users/me=%d%n",
+                filterChainProxy.getFilters("/api/v1/auth/login").size(),
+                filterChainProxy.getFilters("/api/v1/users/me").size());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse publicLogin() throws ServletException, IOException {
+        return perform(new MockHttpServletRequest("POST", "/api/v1/auth/login"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedApi() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", "Bearer " + USER_JWT);
+        return perform(request);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse unauthenticatedApi() throws ServletException, IOException {
+        return perform(new MockHttpServletRequest("GET", "/api/v1/users/me"));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, SERVLET);
+        return response;
+    }
+
+    /** The one chain SecurityConfig had before it was split per path family. */
+    @Configuration
+    @EnableWebSecurity
+    static class SingleChain {
+
+        @Bean
+        SecurityFilterChain filterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource,
+                                        OAuth2UserService oAuth2UserService,
+                                        OAuth2SuccessHandler oAuth2SuccessHandler,
+                                        JwtAuthFilter jwtAuthFilter) throws Exception {
+            http
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                .sessionManagement(session ->
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                    .requestMatchers(
+                        "/api/v1/auth/**",
+                        "/login/oauth2/**",
+                        "/oauth2/**",
+                        "/actuator/health",
+                        "/actuator/info",
+                        "/h2-console/**"
+                    ).permitAll()
+                    .anyRequest().authenticated()
+                )
+                .oauth2Login(oauth2 -> oauth2
+                    .userInfoEndpoint(userInfo -> userInfo.userService(oAuth2UserService))
+                    .successHandler(oAuth2SuccessHandler)
+                )
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+
+            return http.build();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityFilterChainBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
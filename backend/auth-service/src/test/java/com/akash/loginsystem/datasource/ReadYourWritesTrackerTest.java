@@ -0,0 +1,105 @@
+package com.akash.loginsystem.datasource;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesTrackerTest {
+
+    /** Stands in for the Redis every node shares. */
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final AppProperties appProperties = new AppProperties();
+    private StringRedisTemplate redisTemplate;
+    private volatile boolean redisDown;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        appProperties.getDatasource().setReplicaUrls(List.of("jdbc:postgresql://replica-1/loginsystem"));
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doAnswer(invocation -> {
+            failIfDown();
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(values).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> {
+            failIfDown();
+            return redis.containsKey(invocation.<String>getArgument(0));
+        });
+    }
+
+    @Test
+    void aWriteOnOneNodePinsReadsOnAnother() {
+        UUID userId = UUID.randomUUID();
+        ReadYourWritesTracker writer = node();
+        ReadYourWritesTracker reader = node();
+
+        assertThat(reader.isWithinWindow(userId)).isFalse();
+        writer.recordWrite(userId);
+
+        assertThat(reader.isWithinWindow(userId)).isTrue();
+        assertThat(reader.isWithinWindow(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void theWritingNodeDoesNotNeedRedis() {
+        UUID userId = UUID.randomUUID();
+        ReadYourWritesTracker node = node();
+        node.recordWrite(userId);
+        redis.clear();
+
+        assertThat(node.isWithinWindow(userId)).isTrue();
+    }
+
+    @Test
+    void readsGoToThePrimaryWhileRedisIsUnavailable() {
+        ReadYourWritesTracker node = node();
+        redisDown = true;
+
+        assertThat(node.isWithinWindow(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void doesNothingWithoutReplicas() {
+        appProperties.getDatasource().setReplicaUrls(List.of());
+        ReadYourWritesTracker node = node();
+        UUID userId = UUID.randomUUID();
+
+        node.recordWrite(userId);
+
+        assertThat(node.isWithinWindow(userId)).isFalse();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private ReadYourWritesTracker node() {
+        return new ReadYourWritesTracker(appProperties, redisTemplate,
+                new RedisCircuitBreaker(appProperties, new SimpleMeterRegistry()));
+    }
+
+    private void failIfDown() {
+        if (redisDown) {
+            throw new QueryTimeoutException("Redis command timed out");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.akash.loginsystem.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Sequence overflows (4096 ids per ms, e.g. from the other tests) may run a few ms ahead of the clock
+        assertThat(millis(id)).isBetween(before, after + 50);
+        assertThat(UUID.fromString(id.toString())).isEqualTo(id);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingIncludingWithinOneMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        int sameMillisPairs = 0;
+        for (int i = 1; i < ids.size(); i++) {
+            UUID prev = ids.get(i - 1);
+            UUID next = ids.get(i);
+            assertThat(Long.compareUnsigned(prev.getMostSignificantBits(), next.getMostSignificantBits()))
+                    .as("%s before %s", prev, next)
+                    .isNegative();
+            if (millis(prev) == millis(next)) {
+                sameMillisPairs++;
+                assertThat(sequence(next)).isGreaterThan(sequence(prev));
+            }
+        }
+        assertThat(sameMillisPairs).isPositive();
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<List<UUID>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                    return ids;
+                });
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                List<UUID> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertThat(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                            ids.get(i).getMostSignificantBits())).isNegative();
+                }
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long millis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long sequence(UUID id) {
+        return id.getMostSignificantBits() & 0xFFFL;
+    }
+}
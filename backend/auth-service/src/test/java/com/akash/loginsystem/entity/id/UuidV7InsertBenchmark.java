@@ -0,0 +1,103 @@
+package com.akash.loginsystem.entity.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts into a UUID-keyed table already holding PRELOAD rows, with UuidV7Generator keys
+ * against the random v4 keys GenerationType.UUID produced. Runs on in-memory H2, so it shows
+ * the B-tree insert path only — not Postgres page splits, WAL volume or buffer-cache misses.
+ * Run by hand:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.entity.id.UuidV7InsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidV7InsertBenchmark {
+
+    private static final int PRELOAD = 500_000;
+    private static final int BATCH = 1_000;
+
+    @Param({"v7", "v4"})
+    public String keys;
+
+    private Supplier<UUID> ids;
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        ids = "v7".equals(keys) ? UuidV7Generator::next : UUID::randomUUID;
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid_" + keys + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE refresh_tokens (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                    + "token_hash VARCHAR(64) NOT NULL)");
+        }
+        insert = connection.prepareStatement(
+                "INSERT INTO refresh_tokens (id, user_id, token_hash) VALUES (?, ?, ?)");
+        for (int loaded = 0; loaded < PRELOAD; loaded += BATCH) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        insert.close();
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] insertRows() throws SQLException {
+        return insertBatch();
+    }
+
+    private int[] insertBatch() throws SQLException {
+        UUID userId = ids.get();
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, ids.get());
+            insert.setObject(2, userId);
+            insert.setString(3, "0f1e2d3c4b5a69788796a5b4c3d2e1f00f1e2d3c4b5a69788796a5b4c3d2e1f0");
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UuidV7InsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.akash.loginsystem.idempotency;
+
+import com.akash.loginsystem.config.AppProperties;
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.redis.RedisCircuitBreaker;
+import com.akash.loginsystem.repository.RefreshTokenRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.SET_IF_ABSENT))).thenReturn(true);
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.getJwt().setSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        store = new IdempotencyStore(redisTemplate, new RedisCircuitBreaker(appProperties, meterRegistry),
+                mock(RefreshTokenRepository.class), new ObjectMapper(), appProperties, meterRegistry);
+    }
+
+    @Test
+    void storesTheCompletedResponse() {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.UPSERT))).thenReturn(true);
+
+        AuthResponse response = store.execute("register", "key-1", Map.of("email", "ana@example.com"),
+                () -> AuthResponse.builder().accessToken("access").build());
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        verify(keyCommands, never()).del(any(byte[].class));
+        assertThat(outcomes("unrecorded")).isZero();
+    }
+
+    @Test
+    void releasesTheKeyWhenTheCompletedResponseCannotBeStored() {
+        when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.UPSERT))).thenThrow(new QueryTimeoutException("timeout"));
+
+        AuthResponse response = store.execute("register", "key-1", Map.of("email", "ana@example.com"),
+                () -> AuthResponse.builder().accessToken("access").build());
+
+        // The request itself succeeded; the reservation must not turn its retries into 409s
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        verify(keyCommands).del(any(byte[].class));
+        assertThat(outcomes("unrecorded")).isEqualTo(1);
+    }
+
+    private double outcomes(String outcome) {
+        Counter counter = meterRegistry.find("idempotency.requests").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
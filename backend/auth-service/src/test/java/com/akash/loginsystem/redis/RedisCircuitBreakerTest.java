@@ -0,0 +1,78 @@
+package com.akash.loginsystem.redis;
+
+import com.akash.loginsystem.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisCircuitBreakerTest {
+
+    private final AppProperties appProperties = new AppProperties();
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getRedis().setFailureThreshold(2);
+        appProperties.getRedis().setOpenDuration(Duration.ZERO);
+        breaker = new RedisCircuitBreaker(appProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesOnSuccessfulTrial() {
+        fail();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        fail();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        assertThat(breaker.execute("GET", () -> "value")).contains("value");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopens() {
+        fail();
+        fail();
+
+        fail();
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void trialThrowingANonRedisExceptionDoesNotLeaveTheCircuitHalfOpen() {
+        fail();
+        fail();
+
+        assertThatThrownBy(() -> breaker.execute("GET", () -> {
+            throw new IllegalStateException("bug in the callback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.execute("GET", () -> "value")).contains("value");
+    }
+
+    @Test
+    void skipsCallsWhileOpen() {
+        appProperties.getRedis().setOpenDuration(Duration.ofMinutes(1));
+        fail();
+        fail();
+
+        boolean[] called = {false};
+        assertThat(breaker.execute("GET", () -> called[0] = true)).isEmpty();
+        assertThat(called[0]).isFalse();
+    }
+
+    private void fail() {
+        Optional<Object> result = breaker.execute("GET", () -> {
+            throw new QueryTimeoutException("timeout");
+        });
+        assertThat(result).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package com.akash.loginsystem.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccessTokenCodec against the jjwt builder and parser it replaced, for the access token
+ * JwtProvider issues. Run by hand:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.security.AccessTokenCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenCodecBenchmark {
+
+    private static final String ISSUER = "https://auth.example.com";
+    private static final String SUBJECT = "01a1521e-f749-7000-9906-2c34967fb341";
+
+    /** Secret length picks the algorithm, as in JwtProvider: 32 → HS256, 64 → HS512. */
+    @Param({"32", "64"})
+    public int keyBytes;
+
+    private SecretKey key;
+    private AccessTokenCodec codec;
+    private JwtParser parser;
+    private String token;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[keyBytes];
+        new SecureRandom().nextBytes(secret);
+        key = Keys.hmacShaKeyFor(secret);
+        codec = new AccessTokenCodec(key, ISSUER);
+        parser = Jwts.parser().verifyWith(key).build();
+        now = System.currentTimeMillis() / 1000;
+        token = codec.encode("6OH2k9c0QxWJ1q0kKX2N7A", SUBJECT, "USER", now, now + 3600);
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return codec.encode("6OH2k9c0QxWJ1q0kKX2N7A", SUBJECT, "USER", now, now + 3600);
+    }
+
+    @Benchmark
+    public String jjwtEncode() {
+        return Jwts.builder()
+                .id("6OH2k9c0QxWJ1q0kKX2N7A")
+                .issuer(ISSUER)
+                .subject(SUBJECT)
+                .claim("role", "USER")
+                .issuedAt(new Date(now * 1000))
+                .expiration(new Date((now + 3600) * 1000))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public String codecVerify() throws AccessTokenCodec.InvalidTokenException {
+        return codec.verify(token, now);
+    }
+
+    @Benchmark
+    public String jjwtVerify() {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccessTokenCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
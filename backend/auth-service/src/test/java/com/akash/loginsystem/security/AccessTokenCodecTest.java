@@ -0,0 +1,278 @@
+package com.akash.loginsystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AccessTokenCodec replaced jjwt for our access tokens; tokens must stay interchangeable in
+ * both directions, and everything jjwt would reject must be rejected here too.
+ */
+class AccessTokenCodecTest {
+
+    private static final String ISSUER = "https://auth.example.com";
+    private static final String SUBJECT = "01a1521e-f749-7000-9906-2c34967fb341";
+    private static final long NOW = 1_800_000_000L;
+
+    private final SecretKey key = key(64);
+    private final AccessTokenCodec codec = new AccessTokenCodec(key, ISSUER);
+
+    // ── Interchangeability with jjwt ──────────────────────────────────────────
+
+    @ParameterizedTest
+    @ValueSource(ints = {32, 48, 64})
+    void encodesExactlyAsJjwt(int keyBytes) {
+        SecretKey key = key(keyBytes);
+        AccessTokenCodec codec = new AccessTokenCodec(key, ISSUER);
+
+        String ours = codec.encode("jti-1", SUBJECT, "USER", NOW, NOW + 3600);
+
+        assertThat(ours).isEqualTo(jjwtToken(key, "jti-1", NOW, NOW + 3600));
+    }
+
+    @Test
+    void jjwtVerifiesOurTokens() {
+        String token = codec.encode("jti-1", SUBJECT, "ADMIN", NOW, NOW + 3600);
+
+        Claims claims = Jwts.parser().verifyWith(key).requireIssuer(ISSUER)
+                .clock(() -> new Date(NOW * 1000)).build()
+                .parseSignedClaims(token).getPayload();
+
+        assertThat(claims.getId()).isEqualTo("jti-1");
+        assertThat(claims.getSubject()).isEqualTo(SUBJECT);
+        assertThat(claims.get("role", String.class)).isEqualTo("ADMIN");
+        assertThat(claims.getIssuedAt()).isEqualTo(new Date(NOW * 1000));
+        assertThat(claims.getExpiration()).isEqualTo(new Date((NOW + 3600) * 1000));
+    }
+
+    @Test
+    void verifiesJjwtTokens() throws Exception {
+        assertThat(codec.verify(jjwtToken(key, "jti-1", NOW, NOW + 3600), NOW)).isEqualTo(SUBJECT);
+    }
+
+    @Test
+    void issuerIsEscapedAsJjwtDoes() {
+        String issuer = "https://auth.example.com/\"quoted\"\\path\t";
+        AccessTokenCodec codec = new AccessTokenCodec(key, issuer);
+
+        String ours = codec.encode("jti-1", SUBJECT, "USER", NOW, NOW + 60);
+
+        assertThat(ours).isEqualTo(Jwts.builder().id("jti-1").issuer(issuer).subject(SUBJECT)
+                .claim("role", "USER").issuedAt(new Date(NOW * 1000)).expiration(new Date((NOW + 60) * 1000))
+                .signWith(key).compact());
+    }
+
+    // ── Signature and header ──────────────────────────────────────────────────
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = codec.encode("jti-1", SUBJECT, "USER", NOW, NOW + 3600);
+        int i = token.lastIndexOf('.') + 5;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'A' ? 'B' : 'A') + token.substring(i + 1);
+
+        assertRejected(tampered, "Invalid signature");
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = codec.encode("jti-1", SUBJECT, "USER", NOW, NOW + 3600);
+        String forged = signed(key, "{\"alg\":\"HS512\"}",
+                "{\"jti\":\"jti-1\",\"iss\":\"" + ISSUER + "\",\"sub\":\"someone-else\",\"role\":\"ADMIN\"}");
+        String spliced = token.substring(0, token.indexOf('.') + 1)
+                + forged.split("\\.")[1] + token.substring(token.lastIndexOf('.'));
+
+        assertRejected(spliced, "Invalid signature");
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        assertRejected(new AccessTokenCodec(key(64), ISSUER).encode("jti-1", SUBJECT, "USER", NOW, NOW + 60),
+                "Invalid signature");
+    }
+
+    @Test
+    void rejectsWeakerAlgorithmEvenWithTheSameSecret() {
+        SecretKey hs256 = Keys.hmacShaKeyFor(Arrays.copyOf(key.getEncoded(), 32));
+        String token = new AccessTokenCodec(hs256, ISSUER).encode("jti-1", SUBJECT, "USER", NOW, NOW + 60);
+
+        assertRejected(token, null);
+    }
+
+    @Test
+    void rejectsAlgNone() {
+        String unsigned = base64Url("{\"alg\":\"none\"}") + "."
+                + base64Url("{\"sub\":\"" + SUBJECT + "\",\"exp\":" + (NOW + 60) + "}") + ".";
+
+        assertRejected(unsigned, null);
+    }
+
+    @Test
+    void rejectsHeaderWithTyp() {
+        // Correctly signed, but not a header we ever issue
+        assertRejected(signed(key, "{\"typ\":\"JWT\",\"alg\":\"HS512\"}", claims("\"exp\":" + (NOW + 60))),
+                "Unexpected token header");
+    }
+
+    @Test
+    void rejectsNonBase64UrlCharacters() {
+        String token = codec.encode("jti-1", SUBJECT, "USER", NOW, NOW + 3600);
+        int dot = token.indexOf('.');
+        for (String bad : new String[]{"+", "/", "=", "é", " "}) {
+            String tampered = token.substring(0, dot + 3) + bad + token.substring(dot + 4);
+            assertRejected(tampered, "Malformed token");
+        }
+    }
+
+    @Test
+    void rejectsMalformedStructure() {
+        assertRejected(null, "Malformed token");
+        assertRejected("", "Malformed token");
+        assertRejected("a.b.c", "Malformed token");
+        assertRejected("x".repeat(5000), "Malformed token");
+    }
+
+    // ── Claims ────────────────────────────────────────────────────────────────
+
+    @Test
+    void rejectsMissingExp() {
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"iat\":" + NOW)), "Missing sub or exp claim");
+    }
+
+    @Test
+    void rejectsMissingSub() {
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", "{\"exp\":" + (NOW + 60) + "}"), "Missing sub or exp claim");
+    }
+
+    @Test
+    void rejectsExpiredTokenAsExpired() {
+        String token = codec.encode("jti-1", SUBJECT, "USER", NOW - 120, NOW);
+
+        assertThatThrownBy(() -> codec.verify(token, NOW))
+                .isInstanceOfSatisfying(AccessTokenCodec.InvalidTokenException.class,
+                        e -> assertThat(e.isExpired()).isTrue());
+    }
+
+    @Test
+    void honoursNotBefore() throws Exception {
+        String future = signed(key, "{\"alg\":\"HS512\"}", claims("\"nbf\":" + (NOW + 30) + ",\"exp\":" + (NOW + 60)));
+        String past = signed(key, "{\"alg\":\"HS512\"}", claims("\"nbf\":" + (NOW - 30) + ",\"exp\":" + (NOW + 60)));
+
+        assertRejected(future, "Token not valid before " + (NOW + 30));
+        assertThat(codec.verify(past, NOW)).isEqualTo(SUBJECT);
+    }
+
+    @Test
+    void rejectsNonIntegerTimes() {
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"exp\":" + (NOW + 60) + ".5")), null);
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"exp\":\"" + (NOW + 60) + "\"")),
+                "Missing sub or exp claim");
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"exp\":1e12")), null);
+    }
+
+    @Test
+    void rejectsNestedClaimValues() {
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"exp\":" + (NOW + 60) + ",\"aud\":[\"a\"]")),
+                "Unsupported claim value");
+    }
+
+    @Test
+    void acceptsClaimsInAnyOrderAndWhitespace() throws Exception {
+        String token = signed(key, "{\"alg\":\"HS512\"}",
+                " { \"exp\" : " + (NOW + 60) + " ,\n\"role\":\"USER\", \"sub\" : \"" + SUBJECT + "\" } ");
+
+        assertThat(codec.verify(token, NOW)).isEqualTo(SUBJECT);
+        assertThat(jjwtSubject(token)).isEqualTo(SUBJECT);
+    }
+
+    @Test
+    void rejectsDuplicateClaimsAsJjwtDoes() {
+        String duplicateSub = signed(key, "{\"alg\":\"HS512\"}",
+                "{\"sub\":\"first\",\"exp\":" + (NOW + 60) + ",\"sub\":\"" + SUBJECT + "\"}");
+        String duplicateExp = signed(key, "{\"alg\":\"HS512\"}",
+                "{\"sub\":\"" + SUBJECT + "\",\"exp\":" + (NOW - 60) + ",\"exp\":" + (NOW + 60) + "}");
+        String escapedDuplicate = signed(key, "{\"alg\":\"HS512\"}",
+                "{\"sub\":\"first\",\"exp\":" + (NOW + 60) + ",\"s\\u0075b\":\"" + SUBJECT + "\"}");
+
+        for (String token : new String[]{duplicateSub, duplicateExp, escapedDuplicate}) {
+            assertThatThrownBy(() -> jjwtSubject(token)).isInstanceOf(JwtException.class);
+            assertRejected(token, null);
+        }
+        assertRejected(duplicateSub, "Duplicate claim");
+    }
+
+    @Test
+    void rejectsTrailingGarbageAfterPayload() {
+        assertRejected(signed(key, "{\"alg\":\"HS512\"}", claims("\"exp\":" + (NOW + 60)) + "{}"),
+                "Malformed payload");
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void assertRejected(String token, String message) {
+        assertThatThrownBy(() -> codec.verify(token, NOW))
+                .isInstanceOf(AccessTokenCodec.InvalidTokenException.class)
+                .satisfies(e -> {
+                    if (message != null) {
+                        assertThat(e).hasMessage(message);
+                    }
+                });
+    }
+
+    private String jjwtSubject(String token) {
+        return Jwts.parser().verifyWith(key).clock(() -> new Date(NOW * 1000)).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    private static String jjwtToken(SecretKey key, String jti, long iat, long exp) {
+        return Jwts.builder()
+                .id(jti)
+                .issuer(ISSUER)
+                .subject(SUBJECT)
+                .claim("role", "USER")
+                .issuedAt(new Date(iat * 1000))
+                .expiration(new Date(exp * 1000))
+                .signWith(key)
+                .compact();
+    }
+
+    private static String claims(String extra) {
+        return "{\"sub\":\"" + SUBJECT + "\"," + extra + "}";
+    }
+
+    /** Signs arbitrary header and payload JSON exactly as written. */
+    private static String signed(SecretKey key, String header, String payload) {
+        try {
+            String input = base64Url(header) + "." + base64Url(payload);
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return input + "." + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(input.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SecretKey key(int bytes) {
+        byte[] secret = new byte[bytes];
+        new java.security.SecureRandom().nextBytes(secret);
+        return Keys.hmacShaKeyFor(secret);
+    }
+}
@@ -0,0 +1,101 @@
+package com.akash.loginsystem.security;
+
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.model.AuthProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthResponseCodec against the Jackson JSON the Redis handoff values used before, for a
+ * Google login with a picture URL. The setup prints both payload sizes. Run by hand:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.security.AuthResponseCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthResponseCodecBenchmark {
+
+    /** Shape of the JSON value OAuthTokenStore wrote before the binary codec. */
+    public record JsonValue(String accessToken, String refreshToken, boolean requiresPasswordSet,
+                            UserSummaryResponse user) {}
+
+    private ObjectMapper objectMapper;
+    private AuthResponse response;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = AuthResponse.builder()
+                .accessToken("eyJhbGciOiJIUzI1NiJ9.eyJqdGkiOiI2T0gyazljMFF4V0oxcTBrS1gyTjdBIiwiaXNzIjoiaHR0cHM6"
+                        + "Ly9hdXRoLmV4YW1wbGUuY29tIiwic3ViIjoiMDFhMTUyMWUtZjc0OS03MDAwLTk5MDYtMmMzNDk2N2ZiMzQxIiwi"
+                        + "cm9sZSI6IlVTRVIiLCJpYXQiOjE3NjA4MzIwMDAsImV4cCI6MTc2MDgzNTYwMH0.c2lnbmF0dXJlc2lnbmF0dXJl")
+                .refreshToken("Qm9iLXJlZnJlc2gtdG9rZW4tMDFhMTUyMWUtZjc0OS03MDAw")
+                .user(new UserSummaryResponse(
+                        UUID.fromString("01a1521e-f749-7000-9906-2c34967fb341"),
+                        "ana.example@gmail.com", "Ana Example", AuthProvider.GOOGLE, false,
+                        "https://lh3.googleusercontent.com/a/ACg8ocJ1x2y3z4AbCdEfGhIjKlMnOpQrStUvWxYz=s96-c"))
+                .build();
+        binary = AuthResponseCodec.encode(response);
+        json = jsonEncode();
+        System.out.printf("payload bytes: binary=%d json=%d%n", binary.length, json.length);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return AuthResponseCodec.encode(response);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(new JsonValue(response.getAccessToken(),
+                response.getRefreshToken(), response.isRequiresPasswordSet(), response.getUser()));
+    }
+
+    @Benchmark
+    public AuthResponse binaryDecode() throws IOException {
+        return AuthResponseCodec.decode(binary);
+    }
+
+    @Benchmark
+    public AuthResponse jsonDecode() throws IOException {
+        JsonValue value = objectMapper.readValue(json, JsonValue.class);
+        return AuthResponse.builder()
+                .accessToken(value.accessToken())
+                .refreshToken(value.refreshToken())
+                .requiresPasswordSet(value.requiresPasswordSet())
+                .user(value.user())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthResponseCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.akash.loginsystem.security;
+
+import com.akash.loginsystem.dto.response.AuthResponse;
+import com.akash.loginsystem.dto.response.UserSummaryResponse;
+import com.akash.loginsystem.model.AuthProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthResponseCodecTest {
+
+    private static final int PROVIDER_OFFSET = 2;
+
+    @Test
+    void roundTripsAResponseWithAUser() throws IOException {
+        AuthResponse response = AuthResponse.builder()
+                .accessToken("access")
+                .refreshToken("refresh")
+                .requiresPasswordSet(true)
+                .user(new UserSummaryResponse(UUID.randomUUID(), "ana@example.com", "Ana Ñúñez",
+                        AuthProvider.GOOGLE, false, null))
+                .build();
+
+        byte[] encoded = AuthResponseCodec.encode(response);
+
+        assertThat(AuthResponseCodec.isBinary(encoded)).isTrue();
+        assertThat(AuthResponseCodec.decode(encoded)).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void roundTripsAResponseWithoutAUser() throws IOException {
+        AuthResponse response = AuthResponse.builder().accessToken("access").build();
+
+        assertThat(AuthResponseCodec.decode(AuthResponseCodec.encode(response)))
+                .usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void jsonWrittenByOlderPodsIsNotBinary() {
+        assertThat(AuthResponseCodec.isBinary("{\"accessToken\":\"a\"}".getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+    @Test
+    void rejectsAnUnknownProviderWithIOException() {
+        byte[] encoded = AuthResponseCodec.encode(AuthResponse.builder().accessToken("access").build());
+        encoded[PROVIDER_OFFSET] = (byte) AuthProvider.values().length;
+
+        assertThatThrownBy(() -> AuthResponseCodec.decode(encoded))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("provider");
+
+        encoded[PROVIDER_OFFSET] = (byte) 0xFF;
+        assertThatThrownBy(() -> AuthResponseCodec.decode(encoded)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsAnUnknownVersionAndTruncatedValues() {
+        byte[] encoded = AuthResponseCodec.encode(AuthResponse.builder().accessToken("access").build());
+
+        byte[] future = encoded.clone();
+        future[0] = 2;
+        assertThatThrownBy(() -> AuthResponseCodec.decode(future)).isInstanceOf(IOException.class);
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> AuthResponseCodec.decode(truncated)).isInstanceOf(IOException.class);
+        }
+    }
+}
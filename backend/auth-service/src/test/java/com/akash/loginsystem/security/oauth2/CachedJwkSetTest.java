@@ -0,0 +1,146 @@
+package com.akash.loginsystem.security.oauth2;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedJwkSetTest {
+
+    private final AtomicReference<JWKSet> served = new AtomicReference<>(new JWKSet());
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startStubJwksServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = served.get().toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(null);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/jwks";
+    }
+
+    @AfterEach
+    void stopStubJwksServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void refetchesOnceWhenTheProviderRotatesToANewKid() throws JOSEException {
+        serve("k1");
+        CachedJwkSet jwkSet = new CachedJwkSet(url, new RestTemplate(), Duration.ZERO);
+        assertThat(jwkSet.refresh()).isTrue();
+        assertThat(select(jwkSet, "k1")).hasSize(1);
+
+        serve("k2");
+
+        assertThat(select(jwkSet, "k2")).extracting(JWK::getKeyID).containsExactly("k2");
+        assertThat(fetches).hasValue(2);
+        assertThat(select(jwkSet, "k2")).hasSize(1);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void unknownKidYieldsNoKeysAndKeepsTheCurrentSet() throws JOSEException {
+        serve("k1");
+        CachedJwkSet jwkSet = new CachedJwkSet(url, new RestTemplate(), Duration.ZERO);
+        jwkSet.refresh();
+
+        assertThat(select(jwkSet, "forged")).isEmpty();
+        assertThat(select(jwkSet, "k1")).hasSize(1);
+    }
+
+    @Test
+    void unknownKidsWithinTheMinimumIntervalDoNotRefetch() throws JOSEException {
+        serve("k1");
+        CachedJwkSet jwkSet = new CachedJwkSet(url, new RestTemplate(), Duration.ofMinutes(1));
+        jwkSet.refresh();
+        serve("k2");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(select(jwkSet, "forged-" + i)).isEmpty();
+        }
+        assertThat(select(jwkSet, "k2")).isEmpty();
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void failedRefreshKeepsServingThePreviousKeys() throws JOSEException {
+        serve("k1");
+        CachedJwkSet jwkSet = new CachedJwkSet(url, new RestTemplate(), Duration.ZERO);
+        jwkSet.refresh();
+        server.stop(0);
+
+        assertThat(jwkSet.refresh()).isFalse();
+        assertThat(select(jwkSet, "k1")).hasSize(1);
+    }
+
+    @Test
+    void lookupsDoNotWaitForAnInFlightFetch() throws Exception {
+        serve("k1");
+        CachedJwkSet jwkSet = new CachedJwkSet(url, new RestTemplate(), Duration.ZERO);
+        jwkSet.refresh();
+        serve("k2");
+        release = new CountDownLatch(1);
+
+        CompletableFuture<List<JWK>> slow = CompletableFuture.supplyAsync(() -> select(jwkSet, "k2"));
+        while (fetches.get() < 2) {
+            Thread.onSpinWait();
+        }
+
+        // Known kids are served, and an unknown kid fails fast rather than queueing behind the fetch
+        assertThat(CompletableFuture.supplyAsync(() -> select(jwkSet, "k1")).get(1, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(CompletableFuture.supplyAsync(() -> select(jwkSet, "other")).get(1, TimeUnit.SECONDS)).isEmpty();
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).extracting(JWK::getKeyID).containsExactly("k2");
+        assertThat(fetches).hasValue(2);
+    }
+
+    private void serve(String kid) throws JOSEException {
+        served.set(new JWKSet(new ECKeyGenerator(Curve.P_256).keyID(kid).generate().toPublicJWK()));
+    }
+
+    private static List<JWK> select(CachedJwkSet jwkSet, String kid) {
+        return jwkSet.get(new JWKSelector(new JWKMatcher.Builder().keyID(kid).build()), null);
+    }
+}
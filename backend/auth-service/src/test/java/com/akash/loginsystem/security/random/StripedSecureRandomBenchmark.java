@@ -0,0 +1,89 @@
+package com.akash.loginsystem.security.random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * StripedSecureRandom against one shared SecureRandom — the NativePRNG a plain
+ * new SecureRandom() gives on Linux, and a single DRBG — drawing a 16-byte id (jti, OAuth
+ * code) at 1, 4 and 16 threads. Aggregate throughput across threads is what matters. Run by
+ * hand, on a host with at least as many cores as the largest thread count:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.cp -Dmdep.includeScope=test
+ *   java -cp target/test-classes:target/classes:$(cat target/test.cp) \
+ *       com.akash.loginsystem.security.random.StripedSecureRandomBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StripedSecureRandomBenchmark {
+
+    @Param({"striped", "nativeprng", "drbg"})
+    public String source;
+
+    private Consumer<byte[]> nextBytes;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        nextBytes = switch (source) {
+            // Sized as shared() would be on a 16-core host
+            case "striped" -> new StripedSecureRandom(32)::nextBytes;
+            case "nativeprng" -> new SecureRandom()::nextBytes;
+            case "drbg" -> SecureRandom.getInstance("DRBG")::nextBytes;
+            default -> throw new IllegalArgumentException(source);
+        };
+    }
+
+    @State(Scope.Thread)
+    public static class Id {
+        final byte[] bytes = new byte[16];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] threads1(Id id) {
+        nextBytes.accept(id.bytes);
+        return id.bytes;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] threads4(Id id) {
+        nextBytes.accept(id.bytes);
+        return id.bytes;
+    }
+
+    @Benchmark
+    @Threads(16)
+    public byte[] threads16(Id id) {
+        nextBytes.accept(id.bytes);
+        return id.bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StripedSecureRandomBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
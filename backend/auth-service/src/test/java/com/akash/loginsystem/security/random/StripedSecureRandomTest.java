@@ -0,0 +1,171 @@
+package com.akash.loginsystem.security.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedSecureRandomTest {
+
+    /**
+     * Two processes restored from one checkpoint start from identical DRBG states — modelled
+     * here by two instances whose DRBGs come from the same fixed seed.
+     */
+    @Test
+    void restoredCopiesDivergeAfterRestore() throws Exception {
+        StripedSecureRandom first = new StripedSecureRandom(1, fixedSeed());
+        StripedSecureRandom second = new StripedSecureRandom(1, fixedSeed());
+        assertThat(bytes(first, 16)).isEqualTo(bytes(second, 16));
+
+        restore(first);
+        restore(second);
+
+        assertThat(bytes(first, 16)).isNotEqualTo(bytes(second, 16));
+    }
+
+    @Test
+    void restoreDiscardsPooledBytes() throws Exception {
+        StripedSecureRandom restored = new StripedSecureRandom(1, fixedSeed());
+        StripedSecureRandom continued = new StripedSecureRandom(1, fixedSeed());
+        bytes(restored, 16);
+        bytes(continued, 16);
+
+        restore(restored);
+
+        // The rest of the 512-byte pool filled before the checkpoint is never handed out
+        assertThat(bytes(restored, 16)).isNotEqualTo(bytes(continued, 16));
+    }
+
+    @Test
+    void poolsAreFilledOnFirstUse() {
+        int[] generated = new int[1];
+        StripedSecureRandom random = new StripedSecureRandom(4, () -> new SecureRandom() {
+            @Override
+            public void nextBytes(byte[] bytes) {
+                generated[0]++;
+                super.nextBytes(bytes);
+            }
+        });
+
+        assertThat(generated[0]).isZero();
+        bytes(random, 16);
+        assertThat(generated[0]).isEqualTo(1);
+    }
+
+    /** Any two threads sharing a pool slice would hand out the same 128-bit value. */
+    @Test
+    void concurrentCallersNeverReceiveTheSameBytes() throws Exception {
+        StripedSecureRandom random = new StripedSecureRandom(4);
+        int threads = 16;
+        int perThread = 20_000;
+
+        assertThat(distinctValues(threads, perThread, () -> ByteBuffer.wrap(bytes(random, 16))))
+                .hasSize(threads * perThread);
+    }
+
+    @Test
+    void concurrentCallersStayUniqueWhileStripesAreReseeded() throws Exception {
+        StripedSecureRandom random = new StripedSecureRandom(2);
+        int threads = 8;
+        int perThread = 10_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread restorer = new Thread(() -> {
+            while (running.get()) {
+                random.discardPools();
+                random.reseed();
+            }
+        });
+        restorer.start();
+        try {
+            assertThat(distinctValues(threads, perThread, () -> ByteBuffer.wrap(bytes(random, 16))))
+                    .hasSize(threads * perThread);
+        } finally {
+            running.set(false);
+            restorer.join();
+        }
+    }
+
+    @Test
+    void requestsLargerThanThePoolAreServedDirectly() {
+        StripedSecureRandom random = new StripedSecureRandom(1);
+
+        byte[] first = bytes(random, 2048);
+        byte[] second = bytes(random, 2048);
+
+        assertThat(first).isNotEqualTo(new byte[2048]).isNotEqualTo(second);
+    }
+
+    @Test
+    void nextLongIsUniqueAcrossThreads() throws Exception {
+        StripedSecureRandom random = new StripedSecureRandom(8);
+
+        assertThat(distinctValues(8, 20_000, random::nextLong)).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void rejectsStripeCountThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new StripedSecureRandom(3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <T> Set<T> distinctValues(int threads, int perThread, Supplier<T> next) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<List<T>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    List<T> values = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        values.add(next.get());
+                    }
+                    return values;
+                });
+            }
+            Set<T> distinct = new HashSet<>();
+            for (Future<List<T>> future : executor.invokeAll(tasks)) {
+                distinct.addAll(future.get());
+            }
+            return distinct;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void restore(StripedSecureRandom random) throws Exception {
+        random.checkpointResource().beforeCheckpoint(null);
+        random.checkpointResource().afterRestore(null);
+    }
+
+    private static byte[] bytes(StripedSecureRandom random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /** SHA1PRNG seeded before first use is deterministic; later setSeed calls only add to it. */
+    private static Supplier<SecureRandom> fixedSeed() {
+        return () -> {
+            try {
+                SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+                random.setSeed(42L);
+                return random;
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}